@@ -0,0 +1,117 @@
+package pacman.benchmark;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import pacman.model.engine.GameConfigurationReader;
+import pacman.model.level.LevelSpec;
+import pacman.model.maze.HeadlessImageLoader;
+import pacman.model.maze.Maze;
+import pacman.model.maze.MazeCreator;
+import pacman.model.maze.MazeGenerator;
+import pacman.model.maze.MazeLayout;
+import pacman.model.maze.RenderableType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the mazes and level configurations used by the benchmarks.
+ * Scaled maps tile the bundled map.txt, so a scale of 4 is a 4 x 4 grid of copies with a single Pac-Man.
+ * Generated maps are seeded mazes of any size from MazeGenerator.
+ */
+public final class BenchmarkMaps {
+
+    private BenchmarkMaps() {
+    }
+
+    /**
+     * Gets the lines of the bundled map, tiled scale x scale times
+     * @param scale number of copies of the map in each direction
+     * @return lines of the scaled map
+     */
+    public static List<String> scaledMapLines(int scale) {
+        List<String> bundledLines = readResourceLines("/map.txt");
+        String pelletTile = String.valueOf(RenderableType.PELLET);
+        String pacmanTile = String.valueOf(RenderableType.PACMAN);
+
+        List<String> lines = new ArrayList<>(bundledLines.size() * scale);
+        for (int copyY = 0; copyY < scale; copyY++) {
+            for (String bundledLine : bundledLines) {
+                StringBuilder line = new StringBuilder(bundledLine.length() * scale);
+                for (int copyX = 0; copyX < scale; copyX++) {
+                    boolean isFirstCopy = copyX == 0 && copyY == 0;
+                    line.append(isFirstCopy ? bundledLine : bundledLine.replace(pacmanTile, pelletTile));
+                }
+                lines.add(line.toString());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the layout of the bundled map, tiled scale x scale times
+     * @param scale number of copies of the map in each direction
+     * @return layout of the scaled map
+     */
+    public static MazeLayout scaledLayout(int scale) {
+        return new MazeLayout(scaledMapLines(scale));
+    }
+
+    /**
+     * Generates the layout of a seeded maze, the same for every call with the same arguments
+     * @param size width and height of the maze in tiles, rounded down by the generator
+     * @param numGhosts number of ghosts in the maze
+     * @return layout of the generated maze
+     */
+    public static MazeLayout generatedLayout(int size, int numGhosts) {
+        return new MazeGenerator.MazeGeneratorBuilder()
+                .setSeed(size)
+                .setSize(size, size)
+                .setNumGhosts(numGhosts)
+                .build()
+                .generateLayout();
+    }
+
+    /**
+     * Creates a headless maze, with no images loaded
+     * @param layout layout of the maze
+     * @return the created maze
+     */
+    public static Maze createMaze(MazeLayout layout) {
+        Maze maze = new MazeCreator(null, new HeadlessImageLoader()).createMaze(layout);
+        maze.setNumLives(3);
+        return maze;
+    }
+
+    /**
+     * Gets the spec of the first level of the bundled config.json
+     * @return spec of the first level
+     */
+    public static LevelSpec firstLevelSpec() {
+        try {
+            String config = String.join("\n", readResourceLines("/config.json"));
+            JSONObject gameConfig = (JSONObject) new JSONParser().parse(config);
+            return new GameConfigurationReader(gameConfig).readGameSpec().getLevelSpec(0);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Error parsing config.json", e);
+        }
+    }
+
+    private static List<String> readResourceLines(String resourcePath) {
+        InputStream stream = BenchmarkMaps.class.getResourceAsStream(resourcePath);
+        if (stream == null) {
+            throw new IllegalStateException("Resource not found: " + resourcePath);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+            return reader.lines().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading " + resourcePath, e);
+        }
+    }
+}
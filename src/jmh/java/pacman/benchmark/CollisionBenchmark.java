@@ -0,0 +1,53 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pacman.model.entity.dynamic.physics.BoundingBox;
+import pacman.model.entity.dynamic.physics.BoundingBoxImpl;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.Vector2D;
+import pacman.model.maze.MazeCreator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks BoundingBoxImpl.collidesWith, for a colliding and a missing probe in each direction
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CollisionBenchmark {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Param({"true", "false"})
+    private boolean colliding;
+
+    private BoundingBox movingBox;
+    private BoundingBox staticBox;
+
+    @Setup
+    public void createBoxes() {
+        int size = MazeCreator.RESIZING_FACTOR;
+        double offset = colliding ? size / 2.0 : size * 2.0;
+        movingBox = new BoundingBoxImpl(new Vector2D(size, size), size, size);
+        staticBox = new BoundingBoxImpl(new Vector2D(size + offset, size), size, size);
+    }
+
+    @Benchmark
+    public int collidesWith() {
+        int collisions = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (movingBox.collidesWith(direction, staticBox)) {
+                collisions++;
+            }
+        }
+        return collisions;
+    }
+}
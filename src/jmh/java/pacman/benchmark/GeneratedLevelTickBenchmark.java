@@ -0,0 +1,53 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pacman.model.level.LevelImpl;
+import pacman.model.level.LevelSpec;
+import pacman.model.maze.MazeLayout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks LevelImpl.tick on generated mazes, from the size of the bundled map up to mazes
+ * large enough to be chunked, with a growing number of ghosts
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeneratedLevelTickBenchmark {
+
+    @Param({"30", "510", "2046"})
+    private int size;
+
+    @Param({"4", "64"})
+    private int numGhosts;
+
+    private MazeLayout layout;
+    private LevelSpec levelSpec;
+    private LevelImpl level;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void generateMap() {
+        layout = BenchmarkMaps.generatedLayout(size, numGhosts);
+        levelSpec = BenchmarkMaps.firstLevelSpec();
+    }
+
+    // Each iteration starts from a fresh level, so that every iteration measures the same game
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void createLevel() {
+        level = new LevelImpl(levelSpec, BenchmarkMaps.createMaze(layout));
+    }
+
+    @Benchmark
+    public LevelImpl tick() {
+        level.tick();
+        return level;
+    }
+}
@@ -0,0 +1,50 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pacman.model.entity.dynamic.ghost.Ghost;
+import pacman.model.entity.dynamic.ghost.GhostMode;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.Vector2D;
+import pacman.model.maze.Maze;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a ghost's direction selection at an intersection.
+ * GhostImpl.selectDirection is private, so it is measured through Ghost.update, with every direction
+ * possible and the ghost returned to its starting position after each move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GhostBenchmark {
+
+    private Ghost ghost;
+    private Vector2D startingPosition;
+
+    @Setup
+    public void createGhost() {
+        Maze maze = BenchmarkMaps.createMaze(BenchmarkMaps.scaledLayout(1));
+
+        ghost = (Ghost) maze.getGhosts().get(0);
+        ghost.setSpeeds(BenchmarkMaps.firstLevelSpec().getGhostSpeeds());
+        ghost.setGhostMode(GhostMode.CHASE);
+        Vector2D playerPosition = maze.getControllable().getPosition();
+        ghost.setPlayerPosition(playerPosition.getX(), playerPosition.getY());
+        startingPosition = ghost.getPosition();
+    }
+
+    @Benchmark
+    public Direction selectDirection() {
+        ghost.setPossibleDirections(Direction.ALL);
+        ghost.update();
+        ghost.setPosition(startingPosition);
+        return ghost.getDirection();
+    }
+}
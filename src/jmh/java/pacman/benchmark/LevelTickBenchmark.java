@@ -0,0 +1,49 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pacman.model.level.LevelImpl;
+import pacman.model.level.LevelSpec;
+import pacman.model.maze.MazeLayout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a full LevelImpl.tick, including movement, direction resolution and collisions
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelTickBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int scale;
+
+    private MazeLayout layout;
+    private LevelSpec levelSpec;
+    private LevelImpl level;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void loadMap() {
+        layout = BenchmarkMaps.scaledLayout(scale);
+        levelSpec = BenchmarkMaps.firstLevelSpec();
+    }
+
+    // Each iteration starts from a fresh level, so that every iteration measures the same game
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void createLevel() {
+        level = new LevelImpl(levelSpec, BenchmarkMaps.createMaze(layout));
+    }
+
+    @Benchmark
+    public LevelImpl tick() {
+        level.tick();
+        return level;
+    }
+}
@@ -0,0 +1,66 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.DynamicEntity;
+import pacman.model.maze.Maze;
+import pacman.model.maze.MazeLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks maze creation and Maze.updatePossibleDirections
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MazeBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int scale;
+
+    private MazeLayout layout;
+    private Maze maze;
+    private List<DynamicEntity> dynamicEntities;
+
+    @Setup
+    public void createMaze() {
+        layout = BenchmarkMaps.scaledLayout(scale);
+        maze = BenchmarkMaps.createMaze(layout);
+
+        dynamicEntities = new ArrayList<>();
+        for (Renderable renderable : maze.getRenderables()) {
+            if (renderable instanceof DynamicEntity) {
+                dynamicEntities.add((DynamicEntity) renderable);
+            }
+        }
+    }
+
+    @Benchmark
+    public Maze createMazeFromLayout() {
+        return BenchmarkMaps.createMaze(layout);
+    }
+
+    @Benchmark
+    public MazeLayout createLayoutFromLines() {
+        return BenchmarkMaps.scaledLayout(scale);
+    }
+
+    @Benchmark
+    public void updatePossibleDirections(Blackhole blackhole) {
+        for (DynamicEntity dynamicEntity : dynamicEntities) {
+            maze.updatePossibleDirections(dynamicEntity);
+        }
+        blackhole.consume(dynamicEntities);
+    }
+}
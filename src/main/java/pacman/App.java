@@ -2,10 +2,13 @@ package pacman;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import pacman.model.engine.GameEngineFactory;
 import pacman.model.engine.GameEngineImpl;
+import pacman.model.engine.GameLoop;
 import pacman.view.GameWindow;
 
 import java.io.InputStream;
+import java.nio.file.Path;
 
 public class App extends Application {
 
@@ -21,9 +24,18 @@ public class App extends Application {
                 throw new RuntimeException("Configuration file not found!");
             }
 
-            GameEngineImpl model = GameEngineImpl.getInstance(configStream);
-
-            GameWindow window = new GameWindow(model, 448, 576);
+            GameEngineImpl model = new GameEngineFactory(configStream, false).createEngine();
+
+            // Pass --canvas to draw entities onto batched canvases rather than a node per entity
+            boolean useCanvasRenderer = getParameters().getRaw().contains("--canvas");
+            // Pass --tickMillis=<n> to change the length of a simulation tick
+            String tickMillis = getParameters().getNamed().get("tickMillis");
+            // Pass --record=<file> to record the player's input, which ReplayApp can replay headless
+            String recordingPath = getParameters().getNamed().get("record");
+            GameWindow window = new GameWindow(model, 448, 576, useCanvasRenderer,
+                    tickMillis != null ? Long.parseLong(tickMillis) : GameLoop.DEFAULT_TICK_MILLIS,
+                    recordingPath != null ? Path.of(recordingPath) : null);
+            primaryStage.setOnCloseRequest(event -> window.close());
             primaryStage.setTitle("Pac-Man");
             primaryStage.setScene(window.getScene());
             primaryStage.show();
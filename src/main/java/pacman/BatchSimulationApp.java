@@ -0,0 +1,40 @@
+package pacman;
+
+import pacman.model.engine.GameEngineFactory;
+import pacman.simulation.BatchReport;
+import pacman.simulation.BatchSimulator;
+import pacman.simulation.RandomInputStrategy;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
+/**
+ * Entry point for simulating a batch of headless games with random input, in parallel.
+ * Usage: BatchSimulationApp [numGames] [maxTicks] [seed] [configPath]
+ */
+public class BatchSimulationApp {
+
+    private static final int DEFAULT_NUM_GAMES = 1000;
+    private static final int DEFAULT_MAX_TICKS = 20_000;
+    private static final int INPUT_INTERVAL = 20;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        int numGames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_GAMES;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TICKS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+        InputStream configStream = args.length > 3
+                ? new FileInputStream(args[3])
+                : BatchSimulationApp.class.getResourceAsStream("/config.json");
+        if (configStream == null) {
+            throw new RuntimeException("Configuration file not found!");
+        }
+
+        GameEngineFactory factory = new GameEngineFactory(configStream, true);
+        BatchSimulator simulator = new BatchSimulator(factory, maxTicks, Runtime.getRuntime().availableProcessors());
+
+        BatchReport report = simulator.run(numGames, game -> new RandomInputStrategy(seed + game, INPUT_INTERVAL));
+        System.out.println(report);
+    }
+}
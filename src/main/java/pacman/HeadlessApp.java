@@ -0,0 +1,36 @@
+package pacman;
+
+import pacman.model.engine.GameEngineFactory;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.engine.HeadlessGameRunner;
+
+import java.io.InputStream;
+
+/**
+ * Entry point for running a game headless, without a display toolkit.
+ * Usage: HeadlessApp [maxTicks]
+ */
+public class HeadlessApp {
+
+    private static final int DEFAULT_MAX_TICKS = 100_000;
+
+    public static void main(String[] args) {
+        int maxTicks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_TICKS;
+
+        InputStream configStream = HeadlessApp.class.getResourceAsStream("/config.json");
+        if (configStream == null) {
+            throw new RuntimeException("Configuration file not found!");
+        }
+
+        GameEngineImpl model = new GameEngineFactory(configStream, true).createEngine();
+        HeadlessGameRunner runner = new HeadlessGameRunner(model);
+
+        long start = System.nanoTime();
+        int ticks = runner.run(maxTicks);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Status: " + model.getGameStatus());
+        System.out.println("Score: " + model.getScore());
+        System.out.println("Ticks: " + ticks + " in " + elapsedMillis + " ms");
+    }
+}
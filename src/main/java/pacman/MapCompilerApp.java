@@ -0,0 +1,38 @@
+package pacman;
+
+import pacman.model.maze.CompiledMap;
+import pacman.model.maze.MazeCreator;
+import pacman.model.maze.MazeLayout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Entry point for compiling a text map file into the memory-mapped binary format,
+ * which is loaded instead when the "map" of the configuration ends with CompiledMap.EXTENSION.
+ * Usage: MapCompilerApp mapPath outputPath
+ */
+public class MapCompilerApp {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: MapCompilerApp mapPath outputPath");
+            System.exit(2);
+        }
+
+        if (!Files.isRegularFile(Path.of(args[0]))) {
+            throw new RuntimeException("Map file not found: " + args[0]);
+        }
+        MazeLayout layout = new MazeCreator(args[0]).readLayout();
+
+        Path outputPath = Path.of(args[1]);
+        try (OutputStream out = Files.newOutputStream(outputPath)) {
+            CompiledMap.write(layout, out);
+        }
+
+        System.out.println("Compiled " + layout.getWidth() + "x" + layout.getHeight() + " map with " +
+                layout.getNumSpawns() + " spawns to " + outputPath + " (" + Files.size(outputPath) + " bytes)");
+    }
+}
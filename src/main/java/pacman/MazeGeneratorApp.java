@@ -0,0 +1,59 @@
+package pacman;
+
+import pacman.model.maze.CompiledMap;
+import pacman.model.maze.MazeGenerator;
+import pacman.model.maze.MazeLayout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Entry point for generating a maze for scale and stress testing.
+ * A text map is streamed to the file row by row, while a map ending with CompiledMap.EXTENSION
+ * is generated into a layout and compiled.
+ * Usage: MazeGeneratorApp outputPath width height [seed] [pelletDensity] [numGhosts] [loopProbability]
+ */
+public class MazeGeneratorApp {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: MazeGeneratorApp outputPath width height " +
+                    "[seed] [pelletDensity] [numGhosts] [loopProbability]");
+            System.exit(2);
+        }
+
+        MazeGenerator.MazeGeneratorBuilder builder = new MazeGenerator.MazeGeneratorBuilder()
+                .setSize(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        if (args.length > 3) {
+            builder.setSeed(Long.parseLong(args[3]));
+        }
+        if (args.length > 4) {
+            builder.setPelletDensity(Double.parseDouble(args[4]));
+        }
+        if (args.length > 5) {
+            builder.setNumGhosts(Integer.parseInt(args[5]));
+        }
+        if (args.length > 6) {
+            builder.setLoopProbability(Double.parseDouble(args[6]));
+        }
+        MazeGenerator generator = builder.build();
+
+        Path outputPath = Path.of(args[0]);
+        if (args[0].endsWith(CompiledMap.EXTENSION)) {
+            MazeLayout layout = generator.generateLayout();
+            try (OutputStream out = Files.newOutputStream(outputPath)) {
+                CompiledMap.write(layout, out);
+            }
+        } else {
+            try (Writer out = Files.newBufferedWriter(outputPath)) {
+                generator.write(out);
+            }
+        }
+
+        System.out.println("Generated " + generator.getWidth() + "x" + generator.getHeight() + " maze to " +
+                outputPath + " (" + Files.size(outputPath) + " bytes)");
+    }
+}
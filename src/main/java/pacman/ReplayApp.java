@@ -0,0 +1,53 @@
+package pacman;
+
+import pacman.model.engine.GameEngineFactory;
+import pacman.simulation.BatchSimulator;
+import pacman.simulation.GameResult;
+import pacman.simulation.InputJournal;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Entry point for replaying a recorded input journal headless, as fast as the engine can tick,
+ * and checking that the replay reaches the recorded score.
+ * Usage: ReplayApp journalPath [configPath]
+ */
+public class ReplayApp {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: ReplayApp journalPath [configPath]");
+            System.exit(2);
+        }
+
+        InputJournal journal;
+        try (InputStream journalStream = new FileInputStream(args[0])) {
+            journal = InputJournal.read(journalStream);
+        }
+
+        InputStream configStream = args.length > 1
+                ? new FileInputStream(args[1])
+                : ReplayApp.class.getResourceAsStream("/config.json");
+        if (configStream == null) {
+            throw new RuntimeException("Configuration file not found!");
+        }
+
+        BatchSimulator simulator = new BatchSimulator(new GameEngineFactory(configStream, true),
+                journal.getNumTicks(), 1);
+
+        long start = System.nanoTime();
+        GameResult result = simulator.runGame(journal.toInputStrategy());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Moves: " + journal.getNumMoves());
+        System.out.println("Ticks: " + result.getTicks() + " of " + journal.getNumTicks() + " in " + elapsedMillis + " ms");
+        System.out.println("Score: " + result.getScore() + " (recorded " + journal.getScore() + ")");
+
+        if (result.getScore() != journal.getScore() || result.getTicks() != journal.getNumTicks()) {
+            System.out.println("Replay diverged from the recording");
+            System.exit(1);
+        }
+    }
+}
@@ -5,10 +5,14 @@ import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import pacman.ConfigurationParseException;
+import pacman.model.level.LevelConfigurationReader;
+import pacman.model.level.LevelSpec;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,12 +41,47 @@ public class GameConfigurationReader {
         }
     }
 
+    /**
+     * @param gameConfig parsed game configuration
+     */
+    public GameConfigurationReader(JSONObject gameConfig) {
+        this.gameConfig = gameConfig;
+    }
+
+    /**
+     * Reads and validates the whole game configuration, including every level
+     * @return typed spec of the game
+     */
+    public GameSpec readGameSpec() {
+        JSONArray levelConfigs = getLevelConfigs();
+        if (levelConfigs == null || levelConfigs.isEmpty()) {
+            throw new ConfigurationParseException("No levels configured!");
+        }
+
+        List<LevelSpec> levelSpecs = new ArrayList<>(levelConfigs.size());
+        for (int i = 0; i < levelConfigs.size(); i++) {
+            if (!(levelConfigs.get(i) instanceof JSONObject levelConfig)) {
+                throw new ConfigurationParseException("Level " + (i + 1) + " is not an object");
+            }
+            try {
+                levelSpecs.add(new LevelConfigurationReader(levelConfig).readLevelSpec());
+            } catch (ConfigurationParseException e) {
+                throw new ConfigurationParseException("Level " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return new GameSpec(getMapFile(), getNumLives(), levelSpecs);
+    }
+
     /**
      * Gets the path of the map file
      * @return path of map file
      */
     public String getMapFile() {
-        return (String) gameConfig.get("map");
+        try {
+            return (String) gameConfig.get("map");
+        } catch (ClassCastException e) {
+            throw new ConfigurationParseException("Invalid 'map' in configuration");
+        }
     }
 
     /**
@@ -50,7 +89,16 @@ public class GameConfigurationReader {
      * @return number of lives of player
      */
     public int getNumLives() {
-        return ((Number) gameConfig.get("numLives")).intValue();
+        int numLives;
+        try {
+            numLives = ((Number) gameConfig.get("numLives")).intValue();
+        } catch (NullPointerException | ClassCastException e) {
+            throw new ConfigurationParseException("Invalid or missing 'numLives' in configuration");
+        }
+        if (numLives <= 0) {
+            throw new ConfigurationParseException("'numLives' must be positive");
+        }
+        return numLives;
     }
 
     /**
@@ -58,6 +106,10 @@ public class GameConfigurationReader {
      * @return JSONArray of level configurations
      */
     public JSONArray getLevelConfigs() {
-        return (JSONArray) gameConfig.get("levels");
+        try {
+            return (JSONArray) gameConfig.get("levels");
+        } catch (ClassCastException e) {
+            throw new ConfigurationParseException("Invalid 'levels' in configuration");
+        }
     }
 }
@@ -1,7 +1,9 @@
 package pacman.model.engine;
 
 import pacman.model.entity.Renderable;
+import pacman.model.level.WorldSnapshot;
 import pacman.view.observer.Observer;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
@@ -23,6 +25,7 @@ public interface GameEngine {
 
     /**
      * Notifies all registered observers of a change in the game state.
+     * Observers are only notified when the score, lives or status have changed since the last notification.
      */
     void notifyObservers();
 
@@ -32,6 +35,13 @@ public interface GameEngine {
      */
     List<Renderable> getRenderables();
 
+    /**
+     * Returns the latest snapshot published at the end of a tick, which stays unchanged until the next call.
+     * Must only be called from a single reader thread, such as the renderer.
+     * @return The latest snapshot, or null if the game has not started or the engine is headless.
+     */
+    WorldSnapshot acquireSnapshot();
+
     /**
      * Starts the game and initializes the game state.
      */
@@ -67,6 +77,12 @@ public interface GameEngine {
      */
     void tick();
 
+    /**
+     * Returns the number of ticks run since the engine was created.
+     * @return The number of ticks.
+     */
+    long getTickCount();
+
     /**
      * Returns the number of lives the player has remaining.
      * @return The number of lives.
@@ -84,4 +100,23 @@ public interface GameEngine {
      * @return The player's score.
      */
     int getScore();
+
+    /**
+     * Writes the complete state of the game into the buffer, so the game can be forked or rewound
+     * without rebuilding the maze.
+     * @param buffer The buffer to write to, see createStateBuffer.
+     */
+    void writeState(ByteBuffer buffer);
+
+    /**
+     * Restores the state written by writeState from an engine created from the same configuration.
+     * @param buffer The buffer to read from.
+     */
+    void readState(ByteBuffer buffer);
+
+    /**
+     * Allocates a buffer large enough to hold the state of the game.
+     * @return A buffer for writeState.
+     */
+    ByteBuffer createStateBuffer();
 }
@@ -0,0 +1,71 @@
+package pacman.model.engine;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import pacman.ConfigurationParseException;
+import pacman.model.maze.MazeCreator;
+import pacman.model.maze.MazeLayout;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+/**
+ * Creates independent GameEngine instances from a single game configuration.
+ * The configuration and maze layout are parsed once and shared, read-only, by every engine created,
+ * so engines can be created and run concurrently.
+ */
+public class GameEngineFactory {
+
+    private final GameSpec gameSpec;
+    private final MazeLayout mazeLayout;
+    private final boolean headless;
+
+    /**
+     * @param configStream stream of the game configuration
+     * @param headless true, if created engines should load no images and not use the JavaFX toolkit
+     */
+    public GameEngineFactory(InputStream configStream, boolean headless) {
+        // Every level is validated here, so configuration errors surface before any engine is created
+        this.gameSpec = new GameConfigurationReader(parseConfig(configStream)).readGameSpec();
+        this.headless = headless;
+        this.mazeLayout = new MazeCreator(gameSpec.getMapFile()).readLayout();
+    }
+
+    private static JSONObject parseConfig(InputStream configStream) {
+        try {
+            JSONParser parser = new JSONParser();
+            return (JSONObject) parser.parse(new InputStreamReader(configStream));
+        } catch (ClassCastException e) {
+            throw new ConfigurationParseException("Configuration is not a JSON object");
+        } catch (IOException | ParseException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error parsing configuration file", e);
+        }
+    }
+
+    /**
+     * Creates a new engine with its own entities and game state
+     * @return a new engine
+     */
+    public GameEngineImpl createEngine() {
+        return new GameEngineImpl(gameSpec, mazeLayout, headless);
+    }
+
+    /**
+     * Gets the game configuration shared by the created engines
+     * @return shared game spec
+     */
+    public GameSpec getGameSpec() {
+        return gameSpec;
+    }
+
+    /**
+     * Gets the maze layout shared by the created engines
+     * @return shared maze layout
+     */
+    public MazeLayout getMazeLayout() {
+        return mazeLayout;
+    }
+}
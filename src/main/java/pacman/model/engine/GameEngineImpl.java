@@ -1,10 +1,5 @@
 package pacman.model.engine;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
-
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
@@ -13,66 +8,61 @@ import javafx.util.Duration;
 import pacman.model.entity.Renderable;
 import pacman.model.level.Level;
 import pacman.model.level.LevelImpl;
+import pacman.model.level.LevelSpec;
+import pacman.model.level.SnapshotBuffer;
+import pacman.model.level.WorldSnapshot;
+import pacman.model.maze.HeadlessImageLoader;
 import pacman.model.maze.Maze;
 import pacman.model.maze.MazeCreator;
+import pacman.model.maze.MazeLayout;
+import pacman.model.maze.ResourceImageLoader;
 import pacman.view.observer.Observer;
 import pacman.view.observer.Subject;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Implementation of GameEngine - responsible for coordinating the Pac-Man model and implemented in single pattern 
+ * Implementation of GameEngine - responsible for coordinating the Pac-Man model.
+ * Instances are independent of each other and are created through a GameEngineFactory.
  */
 public class GameEngineImpl implements GameEngine, Subject {
 
-    private static GameEngineImpl instance;
-
+    private static final int STATE_HEADER_SIZE = Integer.BYTES + Long.BYTES + 1;
     private Level currentLevel;
     private int numLevels;
     private int currentLevelNo;
     private Maze maze;
-    private JSONArray levelConfigs;
+    private GameSpec gameSpec;
     private final List<Observer> observers;
+    private final boolean headless;
+    private final SnapshotBuffer snapshotBuffer;
+    private long tickCount;
+    private int notifiedScore;
+    private int notifiedNumLives;
+    private String notifiedGameStatus;
 
-    // Private constructor for Singleton pattern
-    private GameEngineImpl(JSONObject config) {
+    GameEngineImpl(GameSpec gameSpec, MazeLayout mazeLayout, boolean headless) {
         this.currentLevelNo = 0;
         this.observers = new ArrayList<>();
-        init(config);
-    }
-
-    // Public method to provide access to the singleton instance
-    public static GameEngineImpl getInstance(InputStream configStream) {
-        if (instance == null) {
-            try {
-                JSONParser parser = new JSONParser();
-                JSONObject config = (JSONObject) parser.parse(new InputStreamReader(configStream));
-                instance = new GameEngineImpl(config);
-            } catch (IOException | ParseException e) {
-                e.printStackTrace();
-                throw new RuntimeException("Error parsing configuration file", e);
-            }
-        }
-        return instance;
+        this.headless = headless;
+        // Headless engines have no renderer to hand snapshots to
+        this.snapshotBuffer = headless ? null : new SnapshotBuffer();
+        init(gameSpec, mazeLayout);
     }
 
-    private void init(JSONObject config) {
-        // Set up map
-        String mapFile = (String) config.get("mapFile");
-        MazeCreator mazeCreator = new MazeCreator(mapFile);
-        this.maze = mazeCreator.createMaze();
-        this.maze.setNumLives(((Long) config.get("numLives")).intValue());
+    private void init(GameSpec gameSpec, MazeLayout mazeLayout) {
+        // Set up map from the shared layout, with entities owned by this engine
+        MazeCreator mazeCreator = new MazeCreator(gameSpec.getMapFile(),
+                headless ? new HeadlessImageLoader() : new ResourceImageLoader());
+        this.maze = mazeCreator.createMaze(mazeLayout);
+        this.maze.setNumLives(gameSpec.getNumLives());
 
-        // Get level configurations
-        this.levelConfigs = (JSONArray) config.get("levels");
-        this.numLevels = levelConfigs.size();
-        if (levelConfigs.isEmpty()) {
-            System.exit(0);
-        }
+        // Level specs were validated when the configuration was loaded
+        this.gameSpec = gameSpec;
+        this.numLevels = gameSpec.getNumLevels();
     }
 
     @Override
@@ -109,18 +99,17 @@ public class GameEngineImpl implements GameEngine, Subject {
 
     @Override
     public void startGame() {
-        startLevel();
+        startLevel(currentLevelNo);
+        publishSnapshot();
         notifyObservers();
     }
 
-    private void startLevel() {
-        if (levelConfigs == null || levelConfigs.isEmpty()) {
-            throw new RuntimeException("No levels configured!");
-        }
-        JSONObject levelConfig = (JSONObject) levelConfigs.get(currentLevelNo);
-        System.out.println("Starting level: " + currentLevelNo);
+    private void startLevel(int levelNo) {
+        LevelSpec levelSpec = gameSpec.getLevelSpec(levelNo);
+        System.out.println("Starting level: " + levelNo);
         maze.reset();
-        this.currentLevel = new LevelImpl(levelConfig, maze);
+        // The snapshot the new level writes is published by the caller, once per tick
+        this.currentLevel = new LevelImpl(levelSpec, maze, snapshotBuffer);
         notifyObservers();
     }
 
@@ -133,7 +122,11 @@ public class GameEngineImpl implements GameEngine, Subject {
     public void endGameWithWin() {
         System.out.println("YOU WIN!");
         notifyObservers();
-        
+
+        if (headless) {
+            return;
+        }
+
         Platform.runLater(() -> {
             // Delay for 5 seconds before ending the game
             Timeline delayTimeline = new Timeline(new KeyFrame(Duration.seconds(5), event -> {
@@ -156,12 +149,107 @@ public class GameEngineImpl implements GameEngine, Subject {
                 System.out.println("YOU WIN!");
                 endGameWithWin();
             } else {
-                startLevel();
+                startLevel(currentLevelNo);
             }
         }
+        tickCount++;
+        publishSnapshot();
+        notifyObservers();
+    }
+
+    private void publishSnapshot() {
+        if (snapshotBuffer != null) {
+            snapshotBuffer.publish(tickCount, getGameStatus());
+        }
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(currentLevelNo);
+        buffer.putLong(tickCount);
+
+        // An ended game has no level left to write
+        buffer.put((byte) (currentLevel != null ? 1 : 0));
+        if (currentLevel != null) {
+            currentLevel.writeState(buffer);
+        }
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        // The whole state is checked before any field changes, so a state that does not fit leaves the engine as it was
+        int start = buffer.position();
+        if (buffer.remaining() < STATE_HEADER_SIZE) {
+            throw new IllegalArgumentException("State is truncated");
+        }
+        int levelNo = buffer.getInt(start);
+        if (levelNo < 0 || levelNo > numLevels) {
+            throw new IllegalArgumentException("State was written for level " + levelNo +
+                    " of a game with " + numLevels + " levels");
+        }
+        boolean hasLevel = buffer.get(start + STATE_HEADER_SIZE - 1) != 0;
+        if (hasLevel) {
+            LevelImpl.checkState(maze, buffer, start + STATE_HEADER_SIZE);
+        }
+        buffer.getInt();
+        long tickCount = buffer.getLong();
+        buffer.get();
+
+        if (!hasLevel) {
+            this.currentLevelNo = levelNo;
+            this.tickCount = tickCount;
+            this.currentLevel = null;
+            notifyObservers();
+            return;
+        }
+
+        // A won game has passed its last level, which it keeps as the current level once finished
+        int playedLevelNo = Math.min(levelNo, numLevels - 1);
+        if (currentLevel == null || Math.min(currentLevelNo, numLevels - 1) != playedLevelNo) {
+            startLevel(playedLevelNo);
+        }
+        this.currentLevelNo = levelNo;
+        this.tickCount = tickCount;
+        currentLevel.readState(buffer);
+        publishSnapshot();
         notifyObservers();
     }
 
+    @Override
+    public ByteBuffer createStateBuffer() {
+        int capacity = 1024;
+        while (true) {
+            ByteBuffer buffer = ByteBuffer.allocate(capacity);
+            try {
+                writeState(buffer);
+                return buffer.clear();
+            } catch (BufferOverflowException e) {
+                capacity *= 2;
+            }
+        }
+    }
+
+    @Override
+    public WorldSnapshot acquireSnapshot() {
+        if (snapshotBuffer == null) {
+            return null;
+        }
+        return snapshotBuffer.acquire();
+    }
+
+
+    /**
+     * Returns whether the engine is running without the JavaFX toolkit
+     * @return true, if the engine is headless
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickCount;
+    }
 
     @Override
     public int getNumLives() {
@@ -198,6 +286,8 @@ public class GameEngineImpl implements GameEngine, Subject {
     @Override
     public void registerObserver(Observer observer) {
         observers.add(observer);
+        // Make sure the new observer hears about the current state on the next notification
+        notifiedGameStatus = null;
     }
 
     @Override
@@ -205,10 +295,21 @@ public class GameEngineImpl implements GameEngine, Subject {
         observers.remove(observer);
     }
 
+    // Observers are only notified when the score, lives or status changed since the last notification
     @Override
     public void notifyObservers() {
-        for (Observer observer : observers) {
-            observer.update();
+        int score = getScore();
+        int numLives = getNumLives();
+        String gameStatus = getGameStatus();
+        if (score == notifiedScore && numLives == notifiedNumLives && gameStatus.equals(notifiedGameStatus)) {
+            return;
+        }
+        this.notifiedScore = score;
+        this.notifiedNumLives = numLives;
+        this.notifiedGameStatus = gameStatus;
+
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).update();
         }
     }
 }
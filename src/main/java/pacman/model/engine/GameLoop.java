@@ -0,0 +1,128 @@
+package pacman.model.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-timestep simulation loop, ticking a GameEngine on a dedicated thread.
+ * The engine is only touched by the loop thread once started: input is queued through execute
+ * and applied at the start of the next tick, and the engine publishes a WorldSnapshot after every tick.
+ * Ticks that fall behind are caught up, so the simulation runs at the same rate under load,
+ * until more than MAX_CATCH_UP_TICKS are owed and the backlog is dropped.
+ */
+public class GameLoop implements Executor {
+
+    public static final long DEFAULT_TICK_MILLIS = 34;
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    private final GameEngine gameEngine;
+    private final long tickNanos;
+    private final Queue<Runnable> inputs;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param gameEngine engine to be ticked, which must have been started
+     * @param tickMillis length of a tick in milliseconds
+     */
+    public GameLoop(GameEngine gameEngine, long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive: " + tickMillis);
+        }
+        this.gameEngine = gameEngine;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.inputs = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Starts ticking the engine on the loop thread
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "game-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop after the current tick, waiting for that tick to finish
+     * unless called from the loop thread itself
+     */
+    public void stop() {
+        running = false;
+
+        Thread loopThread;
+        synchronized (this) {
+            loopThread = thread;
+        }
+        if (loopThread != null && loopThread != Thread.currentThread()) {
+            LockSupport.unpark(loopThread);
+            try {
+                loopThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Queues input to be applied on the loop thread before the next tick
+     * @param input input to apply, such as a player move
+     */
+    @Override
+    public void execute(Runnable input) {
+        inputs.add(input);
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    private void run() {
+        long previousTime = System.nanoTime();
+        long lag = 0;
+
+        while (running) {
+            long currentTime = System.nanoTime();
+            lag += currentTime - previousTime;
+            previousTime = currentTime;
+
+            int ticks = 0;
+            while (running && lag >= tickNanos && ticks < MAX_CATCH_UP_TICKS) {
+                tick();
+                lag -= tickNanos;
+                ticks++;
+            }
+            if (lag >= tickNanos) {
+                lag = 0;
+            }
+
+            if (running) {
+                LockSupport.parkNanos(tickNanos - lag);
+            }
+        }
+    }
+
+    private void tick() {
+        Runnable input;
+        while ((input = inputs.poll()) != null) {
+            input.run();
+        }
+
+        gameEngine.tick();
+
+        // The engine only keeps ticking while the game is in play
+        if (!"READY!".equals(gameEngine.getGameStatus())) {
+            running = false;
+        }
+    }
+}
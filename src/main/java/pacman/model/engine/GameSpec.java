@@ -0,0 +1,47 @@
+package pacman.model.engine;
+
+import pacman.model.level.LevelSpec;
+
+import java.util.List;
+
+/**
+ * Immutable game configuration, parsed and validated once by the GameEngineFactory
+ * and shared by every engine it creates
+ */
+public final class GameSpec {
+
+    private final String mapFile;
+    private final int numLives;
+    private final List<LevelSpec> levelSpecs;
+
+    /**
+     * @param mapFile path of the map file, or null for the bundled map
+     * @param numLives number of lives of the player
+     * @param levelSpecs specs of the levels, in order of play
+     */
+    public GameSpec(String mapFile, int numLives, List<LevelSpec> levelSpecs) {
+        this.mapFile = mapFile;
+        this.numLives = numLives;
+        this.levelSpecs = List.copyOf(levelSpecs);
+    }
+
+    public String getMapFile() {
+        return mapFile;
+    }
+
+    public int getNumLives() {
+        return numLives;
+    }
+
+    public int getNumLevels() {
+        return levelSpecs.size();
+    }
+
+    /**
+     * @param levelNo index of the level, from 0
+     * @return spec of the level
+     */
+    public LevelSpec getLevelSpec(int levelNo) {
+        return levelSpecs.get(levelNo);
+    }
+}
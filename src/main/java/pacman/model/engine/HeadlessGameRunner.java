@@ -0,0 +1,38 @@
+package pacman.model.engine;
+
+/**
+ * Drives a headless GameEngine from a plain loop, without a display or JavaFX timeline.
+ */
+public class HeadlessGameRunner {
+
+    private static final String RUNNING_STATUS = "READY!";
+    private final GameEngine gameEngine;
+
+    public HeadlessGameRunner(GameEngine gameEngine) {
+        this.gameEngine = gameEngine;
+    }
+
+    /**
+     * Starts the game and ticks it until it is won or lost, or until the tick limit is reached
+     * @param maxTicks maximum number of ticks to run
+     * @return number of ticks run
+     */
+    public int run(int maxTicks) {
+        gameEngine.startGame();
+
+        int ticks = 0;
+        while (ticks < maxTicks && isRunning()) {
+            gameEngine.tick();
+            ticks++;
+        }
+        return ticks;
+    }
+
+    /**
+     * Checks if the game is still being played
+     * @return true, if the game has not been won or lost
+     */
+    public boolean isRunning() {
+        return RUNNING_STATUS.equals(gameEngine.getGameStatus());
+    }
+}
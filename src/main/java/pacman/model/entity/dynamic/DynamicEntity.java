@@ -5,7 +5,7 @@ import pacman.model.entity.dynamic.physics.Direction;
 import pacman.model.entity.dynamic.physics.Vector2D;
 import pacman.model.level.Level;
 
-import java.util.Set;
+import java.nio.ByteBuffer;
 
 /**
  * Represents a dynamic entity in the Pac-Man Game
@@ -17,6 +17,11 @@ public interface DynamicEntity extends Renderable {
      */
     void update();
 
+    /**
+     * Chooses the direction of movement for the next update, without moving the Dynamic Entity
+     */
+    void updateDirection();
+
     /**
      * @return Vector2 The previous top left anchor position prior to the last update.
      */
@@ -29,6 +34,25 @@ public interface DynamicEntity extends Renderable {
      */
     void setPosition(Vector2D position);
 
+    /**
+     * Moves the Dynamic Entity back to its position prior to the last update
+     */
+    void restorePositionBeforeLastUpdate();
+
+    /**
+     * Gets the x coordinate of the current position, without allocating a Vector2D
+     *
+     * @return x coordinate of the top left anchor position
+     */
+    double getX();
+
+    /**
+     * Gets the y coordinate of the current position, without allocating a Vector2D
+     *
+     * @return y coordinate of the top left anchor position
+     */
+    double getY();
+
     /**
      * Checks if Dynamic Entity has collided with renderable
      *
@@ -48,9 +72,9 @@ public interface DynamicEntity extends Renderable {
     /**
      * Sets the possible directions for movement for the Dynamic Entity
      *
-     * @param possibleDirections possible directions for movement for the Dynamic Entity
+     * @param possibleDirections bitmask of possible directions for movement for the Dynamic Entity, see Direction.getMask
      */
-    void setPossibleDirections(Set<Direction> possibleDirections);
+    void setPossibleDirections(int possibleDirections);
 
     /**
      * Gets the current direction of the Dynamic Entity
@@ -65,4 +89,21 @@ public interface DynamicEntity extends Renderable {
      * @return center position
      */
     Vector2D getCenter();
-}
\ No newline at end of file
+
+    /**
+     * Writes the mutable state of the entity into the buffer
+     * @param buffer buffer to write to
+     */
+    void writeState(ByteBuffer buffer);
+
+    /**
+     * Restores the mutable state of the entity written by writeState
+     * @param buffer buffer to read from
+     */
+    void readState(ByteBuffer buffer);
+
+    /**
+     * @return number of bytes written by writeState
+     */
+    int getStateSize();
+}
@@ -1,17 +1,37 @@
 package pacman.model.entity.dynamic.ghost;
 
 import pacman.model.entity.dynamic.DynamicEntity;
-import pacman.model.entity.dynamic.physics.Vector2D;
-
-import java.util.Map;
+import pacman.model.maze.DistanceField;
+import pacman.model.maze.DistanceFieldCache;
 
 //Represents Ghost entity in Pac-Man Game according the factory method
 
 public interface Ghost extends DynamicEntity {
 
-    void setSpeeds(Map<GhostMode, Double> speeds);
+    /**
+     * Sets the speeds of the ghost, which can be shared by every ghost of a level and must not be modified
+     * @param speeds speed in each ghost mode, indexed by GhostMode ordinal
+     */
+    void setSpeeds(double[] speeds);
 
     void setGhostMode(GhostMode ghostMode);
 
-    void setPlayerPosition(Vector2D playerPosition);
+    /**
+     * Sets the position of the player, which ghosts target in CHASE mode
+     * @param x x coordinate of the player position
+     * @param y y coordinate of the player position
+     */
+    void setPlayerPosition(double x, double y);
+
+    /**
+     * Sets the distance fields used to find the shortest path to the target
+     * @param distanceFieldCache distance fields of the maze
+     */
+    void setDistanceFieldCache(DistanceFieldCache distanceFieldCache);
+
+    /**
+     * Sets the distance field towards the player, shared by every ghost in CHASE mode
+     * @param chaseField distance field towards the tile of the player
+     */
+    void setChaseField(DistanceField chaseField);
 }
@@ -4,42 +4,58 @@ import javafx.scene.image.Image;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.dynamic.physics.*;
 import pacman.model.level.Level;
+import pacman.model.maze.DistanceField;
+import pacman.model.maze.DistanceFieldCache;
 import pacman.model.maze.Maze;
+import pacman.model.maze.MazeCreator;
 
-import java.util.*;
+import java.nio.ByteBuffer;
 
 /**
  * Concrete implementation of Ghost entity in Pac-Man Game
  */
 public class GhostImpl implements Ghost {
 
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final GhostMode[] GHOST_MODES = GhostMode.values();
+
     private final Layer layer = Layer.FOREGROUND;
     private final Image image;
+    private final EntityStore entityStore;
+    private final int slot;
     private final BoundingBox boundingBox;
+    private final KinematicState kinematicState;
     private final Vector2D startingPosition;
     private final Vector2D targetCorner;
-    private KinematicState kinematicState;
-    private GhostMode ghostMode;
-    private Vector2D targetLocation;
+    private double targetX;
+    private double targetY;
     private Direction currentDirection;
-    private Set<Direction> possibleDirections;
-    private Vector2D playerPosition;
-    private Map<GhostMode, Double> speeds;
+    private double playerX;
+    private double playerY;
+    private boolean hasPlayerPosition;
+    private double[] speeds;
+    private DistanceFieldCache distanceFieldCache;
+    private DistanceField chaseField;
 
-    public GhostImpl(Image image, BoundingBox boundingBox, KinematicState kinematicState, GhostMode ghostMode, Vector2D targetCorner, Direction currentDirection) {
+    /**
+     * @param entityStore store holding the physics state of the ghost
+     * @param slot slot of the ghost in the store
+     */
+    public GhostImpl(Image image, EntityStore entityStore, int slot, GhostMode ghostMode, Vector2D targetCorner, Direction currentDirection) {
         this.image = image;
-        this.boundingBox = boundingBox;
-        this.kinematicState = kinematicState;
+        this.entityStore = entityStore;
+        this.slot = slot;
+        this.boundingBox = entityStore.getBoundingBox(slot);
+        this.kinematicState = entityStore.getKinematicState(slot);
         this.startingPosition = kinematicState.getPosition();
-        this.ghostMode = ghostMode != null ? ghostMode : GhostMode.SCATTER;
+        entityStore.setMode(slot, (ghostMode != null ? ghostMode : GhostMode.SCATTER).ordinal());
         this.currentDirection = currentDirection != null ? currentDirection : Direction.LEFT;
-        this.possibleDirections = new HashSet<>();
         this.targetCorner = targetCorner;
-        this.targetLocation = getTargetLocation();
+        updateTargetLocation();
     }
 
     @Override
-    public void setSpeeds(Map<GhostMode, Double> speeds) {
+    public void setSpeeds(double[] speeds) {
         this.speeds = speeds;
     }
 
@@ -52,13 +68,16 @@ public class GhostImpl implements Ghost {
     public void update() {
         this.updateDirection();
         this.kinematicState.update();
-        this.boundingBox.setTopLeft(this.kinematicState.getPosition());
+        this.boundingBox.setTopLeft(this.kinematicState.getX(), this.kinematicState.getY());
     }
 
-    private void updateDirection() {
+    @Override
+    public void updateDirection() {
+        int possibleDirections = this.entityStore.getPossibleDirections(slot);
+
         // Ghosts update their target location when they reach an intersection
-        if (Maze.isAtIntersection(this.possibleDirections)) {
-            this.targetLocation = getTargetLocation();
+        if (Maze.isAtIntersection(possibleDirections)) {
+            updateTargetLocation();
         }
 
         this.currentDirection = selectDirection(possibleDirections);
@@ -71,47 +90,112 @@ public class GhostImpl implements Ghost {
         }
     }
 
-    private Vector2D getTargetLocation() {
-        if (this.ghostMode == GhostMode.CHASE) {
-            if (this.playerPosition != null) {
-                return this.playerPosition;
-            } else {
-                return Vector2D.ZERO;
-            }
-        } else if (this.ghostMode == GhostMode.SCATTER) {
-            if (this.targetCorner != null) {
-                return this.targetCorner;
-            } else {
-                return Vector2D.ZERO;
-            }
+    private GhostMode getGhostMode() {
+        return GHOST_MODES[this.entityStore.getMode(slot)];
+    }
+
+    private void updateTargetLocation() {
+        GhostMode ghostMode = getGhostMode();
+        if (ghostMode == GhostMode.CHASE && this.hasPlayerPosition) {
+            this.targetX = this.playerX;
+            this.targetY = this.playerY;
+        } else if (ghostMode == GhostMode.SCATTER && this.targetCorner != null) {
+            this.targetX = this.targetCorner.getX();
+            this.targetY = this.targetCorner.getY();
+        } else {
+            this.targetX = 0;
+            this.targetY = 0;
         }
-        return Vector2D.ZERO;
     }
-    
-    
-    private Direction selectDirection(Set<Direction> possibleDirections) {
-        if (possibleDirections.isEmpty()) {
+
+    private Direction selectDirection(int possibleDirections) {
+        if (possibleDirections == 0) {
             return currentDirection;
         }
-    
-        Map<Direction, Double> distances = new HashMap<>();
-    
-        for (Direction direction : possibleDirections) {
-            if (direction != currentDirection.opposite()) { 
-                distances.put(direction, Vector2D.calculateEuclideanDistance(
-                        this.kinematicState.getPotentialPosition(direction), this.targetLocation));
+
+        // Only reverse when the ghost has reached a dead end
+        Direction opposite = currentDirection.opposite();
+        int candidateDirections = possibleDirections & ~opposite.getMask();
+        if (candidateDirections == 0) {
+            return opposite;
+        }
+
+        // In a corridor there is no choice to make
+        if (Integer.bitCount(candidateDirections) == 1) {
+            return DIRECTIONS[Integer.numberOfTrailingZeros(candidateDirections)];
+        }
+
+        DistanceField distanceField = getTargetDistanceField();
+        if (distanceField != null) {
+            Direction selectedDirection = selectDirectionByDistanceField(distanceField, candidateDirections);
+            if (selectedDirection != null) {
+                return selectedDirection;
+            }
+        }
+        return selectDirectionByEuclideanDistance(candidateDirections);
+    }
+
+    // Chasing ghosts share the field maintained by the level, other targets are looked up in the cache
+    private DistanceField getTargetDistanceField() {
+        if (getGhostMode() == GhostMode.CHASE && this.chaseField != null) {
+            return this.chaseField;
+        }
+        if (this.distanceFieldCache == null) {
+            return null;
+        }
+        return this.distanceFieldCache.getDistanceField(
+                toTile(this.targetX + this.boundingBox.getWidth() / 2),
+                toTile(this.targetY + this.boundingBox.getHeight() / 2));
+    }
+
+    // Picks the neighbouring tile with the shortest path to the target, or null if none can reach it
+    private Direction selectDirectionByDistanceField(DistanceField distanceField, int candidateDirections) {
+        int xTile = toTile(this.kinematicState.getX() + this.boundingBox.getWidth() / 2);
+        int yTile = toTile(this.kinematicState.getY() + this.boundingBox.getHeight() / 2);
+
+        Direction selectedDirection = null;
+        int minDistance = DistanceField.UNREACHABLE;
+
+        for (Direction direction : DIRECTIONS) {
+            if (direction.isIn(candidateDirections)) {
+                int distance = distanceField.getDistance(xTile + direction.getDeltaX(), yTile + direction.getDeltaY());
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    selectedDirection = direction;
+                }
             }
         }
-    
-        return Collections.min(distances.entrySet(), Map.Entry.comparingByValue()).getKey();
+
+        return selectedDirection;
+    }
+
+    private Direction selectDirectionByEuclideanDistance(int candidateDirections) {
+        Direction selectedDirection = null;
+        double minDistance = Double.MAX_VALUE;
+
+        for (Direction direction : DIRECTIONS) {
+            if (direction.isIn(candidateDirections)) {
+                double distance = Vector2D.calculateEuclideanDistance(
+                        this.kinematicState.getPotentialX(direction), this.kinematicState.getPotentialY(direction),
+                        this.targetX, this.targetY);
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    selectedDirection = direction;
+                }
+            }
+        }
+
+        return selectedDirection;
+    }
+
+    private static int toTile(double coordinate) {
+        return (int) Math.floor(coordinate / MazeCreator.RESIZING_FACTOR);
     }
-    
-    
 
     @Override
     public void setGhostMode(GhostMode ghostMode) {
-        this.ghostMode = ghostMode;
-        this.kinematicState.setSpeed(speeds.get(ghostMode));
+        this.entityStore.setMode(slot, ghostMode.ordinal());
+        this.kinematicState.setSpeed(speeds[ghostMode.ordinal()]);
     }
 
     @Override
@@ -136,10 +220,31 @@ public class GhostImpl implements Ghost {
         return this.boundingBox.getHeight();
     }
 
-    public void setPlayerPosition(Vector2D playerPosition) {
-        this.playerPosition = playerPosition;
+    @Override
+    public void setPlayerPosition(double x, double y) {
+        this.playerX = x;
+        this.playerY = y;
+        this.hasPlayerPosition = true;
     }    
 
+    @Override
+    public void setDistanceFieldCache(DistanceFieldCache distanceFieldCache) {
+        this.distanceFieldCache = distanceFieldCache;
+
+        // The scatter corner never moves, so its field is kept for the life of the maze
+        if (distanceFieldCache != null && this.targetCorner != null) {
+            double halfWidth = this.boundingBox.getWidth() / 2;
+            double halfHeight = this.boundingBox.getHeight() / 2;
+            distanceFieldCache.pin(toTile(this.targetCorner.getX() + halfWidth),
+                    toTile(this.targetCorner.getY() + halfHeight));
+        }
+    }
+
+    @Override
+    public void setChaseField(DistanceField chaseField) {
+        this.chaseField = chaseField;
+    }
+
     @Override
     public double getWidth() {
         return this.boundingBox.getWidth();
@@ -155,6 +260,21 @@ public class GhostImpl implements Ghost {
         this.kinematicState.setPosition(position);
     }
 
+    @Override
+    public void restorePositionBeforeLastUpdate() {
+        this.kinematicState.setPosition(this.kinematicState.getPreviousX(), this.kinematicState.getPreviousY());
+    }
+
+    @Override
+    public double getX() {
+        return this.kinematicState.getX();
+    }
+
+    @Override
+    public double getY() {
+        return this.kinematicState.getY();
+    }
+
     @Override
     public Layer getLayer() {
         return this.layer;
@@ -167,14 +287,46 @@ public class GhostImpl implements Ghost {
 
     @Override
     public void reset() {
-        this.kinematicState = new KinematicStateImpl.KinematicStateBuilder()
-                .setPosition(startingPosition)
-                .build();
+        this.kinematicState.reset(startingPosition, 0, Direction.LEFT);
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        this.kinematicState.writeState(buffer);
+        buffer.putDouble(this.boundingBox.getLeftX());
+        buffer.putDouble(this.boundingBox.getTopY());
+        buffer.put((byte) this.entityStore.getMode(slot));
+        buffer.put((byte) this.currentDirection.ordinal());
+        buffer.put((byte) this.entityStore.getPossibleDirections(slot));
+        buffer.putDouble(this.targetX);
+        buffer.putDouble(this.targetY);
+        buffer.putDouble(this.playerX);
+        buffer.putDouble(this.playerY);
+        buffer.put((byte) (this.hasPlayerPosition ? 1 : 0));
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        this.kinematicState.readState(buffer);
+        this.boundingBox.setTopLeft(buffer.getDouble(), buffer.getDouble());
+        this.entityStore.setMode(slot, buffer.get());
+        this.currentDirection = DIRECTIONS[buffer.get()];
+        this.entityStore.setPossibleDirections(slot, buffer.get());
+        this.targetX = buffer.getDouble();
+        this.targetY = buffer.getDouble();
+        this.playerX = buffer.getDouble();
+        this.playerY = buffer.getDouble();
+        this.hasPlayerPosition = buffer.get() != 0;
+    }
+
+    @Override
+    public int getStateSize() {
+        return KinematicState.STATE_SIZE + 6 * Double.BYTES + 4;
     }
 
     @Override
-    public void setPossibleDirections(Set<Direction> possibleDirections) {
-        this.possibleDirections = possibleDirections;
+    public void setPossibleDirections(int possibleDirections) {
+        this.entityStore.setPossibleDirections(slot, possibleDirections);
     }
 
     @Override
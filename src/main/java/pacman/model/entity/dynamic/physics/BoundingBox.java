@@ -12,8 +12,24 @@ public interface BoundingBox {
     double getMiddleY();
     double getBottomY();
     void setTopLeft(Vector2D topLeft);
+    void setTopLeft(double x, double y);
     boolean collidesWith(Direction direction, BoundingBox box);
     boolean containsPoint(Vector2D point);
+    boolean containsPoint(double x, double y);
+
+    /**
+     * Gets the x coordinate of the point probed for collisions when moving in the given direction
+     * @param direction direction of movement
+     * @return x coordinate of the probe point
+     */
+    double getProbeX(Direction direction);
+
+    /**
+     * Gets the y coordinate of the point probed for collisions when moving in the given direction
+     * @param direction direction of movement
+     * @return y coordinate of the probe point
+     */
+    double getProbeY(Direction direction);
 
     // Add this method to the interface
     Vector2D getPosition();
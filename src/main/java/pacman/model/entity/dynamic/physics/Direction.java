@@ -6,6 +6,11 @@ package pacman.model.entity.dynamic.physics;
 public enum Direction {
     UP, DOWN, LEFT, RIGHT;
 
+    /**
+     * Bitmask containing every direction
+     */
+    public static final int ALL = (1 << values().length) - 1;
+
     /**
      * Retrieves the opposite direction
      * @return the opposite direction
@@ -18,4 +23,45 @@ public enum Direction {
             case RIGHT -> LEFT;
         };
     }
+
+    /**
+     * Retrieves the change in x of a unit movement in this direction
+     * @return -1, 0 or 1
+     */
+    public int getDeltaX() {
+        return switch (this) {
+            case LEFT -> -1;
+            case RIGHT -> 1;
+            case UP, DOWN -> 0;
+        };
+    }
+
+    /**
+     * Retrieves the change in y of a unit movement in this direction
+     * @return -1, 0 or 1
+     */
+    public int getDeltaY() {
+        return switch (this) {
+            case UP -> -1;
+            case DOWN -> 1;
+            case LEFT, RIGHT -> 0;
+        };
+    }
+
+    /**
+     * Retrieves the bit representing this direction in a direction bitmask
+     * @return the bit of the direction
+     */
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Checks if this direction is contained in the direction bitmask
+     * @param directions direction bitmask
+     * @return true, if the direction is contained in the bitmask
+     */
+    public boolean isIn(int directions) {
+        return (directions & getMask()) != 0;
+    }
 }
@@ -0,0 +1,94 @@
+package pacman.model.entity.dynamic.physics;
+
+/**
+ * Bounding box of a dynamic entity, as a view over its slot in an EntityStore
+ */
+class EntityBoundingBox implements BoundingBox {
+    private final EntityStore store;
+    private final int slot;
+
+    EntityBoundingBox(EntityStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    @Override
+    public double getWidth() {
+        return store.getWidth(slot);
+    }
+
+    @Override
+    public double getHeight() {
+        return store.getHeight(slot);
+    }
+
+    @Override
+    public double getLeftX() {
+        return store.getLeftX(slot);
+    }
+
+    @Override
+    public double getMiddleX() {
+        return store.getLeftX(slot) + store.getWidth(slot) / 2;
+    }
+
+    @Override
+    public double getRightX() {
+        return store.getLeftX(slot) + store.getWidth(slot);
+    }
+
+    @Override
+    public double getTopY() {
+        return store.getTopY(slot);
+    }
+
+    @Override
+    public double getMiddleY() {
+        return store.getTopY(slot) + store.getHeight(slot) / 2;
+    }
+
+    @Override
+    public double getBottomY() {
+        return store.getTopY(slot) + store.getHeight(slot);
+    }
+
+    @Override
+    public void setTopLeft(Vector2D topLeft) {
+        setTopLeft(topLeft.getX(), topLeft.getY());
+    }
+
+    @Override
+    public void setTopLeft(double x, double y) {
+        store.setTopLeft(slot, x, y);
+    }
+
+    @Override
+    public boolean collidesWith(Direction direction, BoundingBox box) {
+        return box.containsPoint(getProbeX(direction), getProbeY(direction));
+    }
+
+    @Override
+    public double getProbeX(Direction direction) {
+        return store.getProbeX(slot, direction);
+    }
+
+    @Override
+    public double getProbeY(Direction direction) {
+        return store.getProbeY(slot, direction);
+    }
+
+    @Override
+    public boolean containsPoint(Vector2D point) {
+        return containsPoint(point.getX(), point.getY());
+    }
+
+    @Override
+    public boolean containsPoint(double x, double y) {
+        return store.containsPoint(slot, x, y);
+    }
+
+    @Override
+    public Vector2D getPosition() {
+        return new Vector2D(store.getLeftX(slot), store.getTopY(slot));
+    }
+}
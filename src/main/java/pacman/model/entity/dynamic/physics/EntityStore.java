@@ -0,0 +1,338 @@
+package pacman.model.entity.dynamic.physics;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays store of the physics state of dynamic entities.
+ * Every entity owns a slot, and its position, velocity, direction, mode and bounding box
+ * are held in parallel primitive arrays; the KinematicState and BoundingBox of an entity are thin views over its slot.
+ * Movement and collision checks can then run over every entity in tight loops over the arrays,
+ * instead of going through a graph of objects per entity.
+ */
+public class EntityStore {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private int size;
+    private double[] x;
+    private double[] y;
+    private double[] previousX;
+    private double[] previousY;
+    private double[] speed;
+    private double[] velocityX;
+    private double[] velocityY;
+    private double[] leftX;
+    private double[] topY;
+    private double[] width;
+    private double[] height;
+    private double[] probeX;
+    private double[] probeY;
+    private byte[] directions;
+    private byte[] possibleDirections;
+    private byte[] modes;
+    private KinematicState[] kinematicStates;
+    private BoundingBox[] boundingBoxes;
+
+    public EntityStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of entities to allocate space for, the store grows as needed
+     */
+    public EntityStore(int capacity) {
+        int initialCapacity = Math.max(capacity, 1);
+        this.x = new double[initialCapacity];
+        this.y = new double[initialCapacity];
+        this.previousX = new double[initialCapacity];
+        this.previousY = new double[initialCapacity];
+        this.speed = new double[initialCapacity];
+        this.velocityX = new double[initialCapacity];
+        this.velocityY = new double[initialCapacity];
+        this.leftX = new double[initialCapacity];
+        this.topY = new double[initialCapacity];
+        this.width = new double[initialCapacity];
+        this.height = new double[initialCapacity];
+        this.probeX = new double[initialCapacity];
+        this.probeY = new double[initialCapacity];
+        this.directions = new byte[initialCapacity];
+        this.possibleDirections = new byte[initialCapacity];
+        this.modes = new byte[initialCapacity];
+        this.kinematicStates = new KinematicState[initialCapacity];
+        this.boundingBoxes = new BoundingBox[initialCapacity];
+    }
+
+    /**
+     * Adds an entity at rest and facing left, with its bounding box at its position
+     * @param x x coordinate of the top left anchor position
+     * @param y y coordinate of the top left anchor position
+     * @param width width of the bounding box
+     * @param height height of the bounding box
+     * @return slot of the entity
+     */
+    public int add(double x, double y, double width, double height) {
+        if (size == this.x.length) {
+            grow();
+        }
+
+        int slot = size++;
+        this.width[slot] = width;
+        this.height[slot] = height;
+        reset(slot, x, y, 0, Direction.LEFT);
+        setTopLeft(slot, x, y);
+
+        // Views are created once per slot, so handing them out allocates nothing
+        this.kinematicStates[slot] = new KinematicStateImpl(this, slot);
+        this.boundingBoxes[slot] = new EntityBoundingBox(this, slot);
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        leftX = Arrays.copyOf(leftX, capacity);
+        topY = Arrays.copyOf(topY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        probeX = Arrays.copyOf(probeX, capacity);
+        probeY = Arrays.copyOf(probeY, capacity);
+        directions = Arrays.copyOf(directions, capacity);
+        possibleDirections = Arrays.copyOf(possibleDirections, capacity);
+        modes = Arrays.copyOf(modes, capacity);
+        kinematicStates = Arrays.copyOf(kinematicStates, capacity);
+        boundingBoxes = Arrays.copyOf(boundingBoxes, capacity);
+    }
+
+    /**
+     * @return number of entities in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param slot slot of the entity
+     * @return kinematic state view over the slot, the same for every call
+     */
+    public KinematicState getKinematicState(int slot) {
+        return kinematicStates[slot];
+    }
+
+    /**
+     * @param slot slot of the entity
+     * @return bounding box view over the slot, the same for every call
+     */
+    public BoundingBox getBoundingBox(int slot) {
+        return boundingBoxes[slot];
+    }
+
+    /**
+     * Moves every entity by its velocity, with its bounding box following it
+     */
+    public void update() {
+        for (int slot = 0; slot < size; slot++) {
+            previousX[slot] = x[slot];
+            previousY[slot] = y[slot];
+            x[slot] += velocityX[slot];
+            y[slot] += velocityY[slot];
+            leftX[slot] = x[slot];
+            topY[slot] = y[slot];
+        }
+    }
+
+    /**
+     * Moves the entity by its velocity, without moving its bounding box
+     * @param slot slot of the entity
+     */
+    public void move(int slot) {
+        previousX[slot] = x[slot];
+        previousY[slot] = y[slot];
+        x[slot] += velocityX[slot];
+        y[slot] += velocityY[slot];
+    }
+
+    /**
+     * Places the entity at the position, with no previous movement.
+     * The bounding box is left where it is.
+     * @param slot slot of the entity
+     * @param x x coordinate of the position
+     * @param y y coordinate of the position
+     * @param speed speed of the entity
+     * @param direction direction of the entity
+     */
+    public void reset(int slot, double x, double y, double speed, Direction direction) {
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.previousX[slot] = x;
+        this.previousY[slot] = y;
+        this.speed[slot] = speed;
+        this.directions[slot] = (byte) direction.ordinal();
+        updateVelocity(slot);
+    }
+
+    private void updateVelocity(int slot) {
+        Direction direction = DIRECTIONS[directions[slot]];
+        velocityX[slot] = direction.getDeltaX() * speed[slot];
+        velocityY[slot] = direction.getDeltaY() * speed[slot];
+    }
+
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    public void setPosition(int slot, double x, double y) {
+        this.x[slot] = x;
+        this.y[slot] = y;
+    }
+
+    public double getPreviousX(int slot) {
+        return previousX[slot];
+    }
+
+    public double getPreviousY(int slot) {
+        return previousY[slot];
+    }
+
+    public void setPreviousPosition(int slot, double x, double y) {
+        this.previousX[slot] = x;
+        this.previousY[slot] = y;
+    }
+
+    public double getSpeed(int slot) {
+        return speed[slot];
+    }
+
+    public void setSpeed(int slot, double speed) {
+        this.speed[slot] = speed;
+        updateVelocity(slot);
+    }
+
+    public Direction getDirection(int slot) {
+        return DIRECTIONS[directions[slot]];
+    }
+
+    public void setDirection(int slot, Direction direction) {
+        this.directions[slot] = (byte) direction.ordinal();
+        updateVelocity(slot);
+    }
+
+    public double getLeftX(int slot) {
+        return leftX[slot];
+    }
+
+    public double getTopY(int slot) {
+        return topY[slot];
+    }
+
+    public void setTopLeft(int slot, double x, double y) {
+        this.leftX[slot] = x;
+        this.topY[slot] = y;
+    }
+
+    public double getWidth(int slot) {
+        return width[slot];
+    }
+
+    public double getHeight(int slot) {
+        return height[slot];
+    }
+
+    /**
+     * @param slot slot of the entity
+     * @return bitmask of possible directions, see Direction.getMask
+     */
+    public int getPossibleDirections(int slot) {
+        return possibleDirections[slot];
+    }
+
+    public void setPossibleDirections(int slot, int possibleDirections) {
+        this.possibleDirections[slot] = (byte) possibleDirections;
+    }
+
+    /**
+     * @param slot slot of the entity
+     * @return ordinal of the mode of the entity, such as a GhostMode
+     */
+    public int getMode(int slot) {
+        return modes[slot];
+    }
+
+    public void setMode(int slot, int mode) {
+        this.modes[slot] = (byte) mode;
+    }
+
+    /**
+     * Gets the x coordinate of the point the bounding box probes for collisions when moving in the direction
+     * @param slot slot of the entity
+     * @param direction direction of movement
+     * @return x coordinate of the probe point
+     */
+    public double getProbeX(int slot, Direction direction) {
+        return switch (direction) {
+            case LEFT -> leftX[slot] + BoundingBoxImpl.COLLISION_OFFSET;
+            case RIGHT -> leftX[slot] + width[slot] - BoundingBoxImpl.COLLISION_OFFSET;
+            case UP, DOWN -> leftX[slot] + width[slot] / 2;
+        };
+    }
+
+    /**
+     * Gets the y coordinate of the point the bounding box probes for collisions when moving in the direction
+     * @param slot slot of the entity
+     * @param direction direction of movement
+     * @return y coordinate of the probe point
+     */
+    public double getProbeY(int slot, Direction direction) {
+        return switch (direction) {
+            case LEFT, RIGHT -> topY[slot] + height[slot] / 2;
+            case UP -> topY[slot] + BoundingBoxImpl.COLLISION_OFFSET;
+            case DOWN -> topY[slot] + height[slot] - BoundingBoxImpl.COLLISION_OFFSET;
+        };
+    }
+
+    /**
+     * Checks if the point is strictly inside the bounding box of the entity
+     * @param slot slot of the entity
+     * @param x x coordinate of the point
+     * @param y y coordinate of the point
+     * @return true, if the point is inside the bounding box
+     */
+    public boolean containsPoint(int slot, double x, double y) {
+        return x > leftX[slot] &&
+               x < leftX[slot] + width[slot] &&
+               y < topY[slot] + height[slot] &&
+               y > topY[slot];
+    }
+
+    /**
+     * Computes the probe of every entity in its direction of movement, for use by collidesWith.
+     * Must be called again whenever an entity turns or its bounding box moves.
+     */
+    public void updateProbes() {
+        for (int slot = 0; slot < size; slot++) {
+            Direction direction = DIRECTIONS[directions[slot]];
+            probeX[slot] = getProbeX(slot, direction);
+            probeY[slot] = getProbeY(slot, direction);
+        }
+    }
+
+    /**
+     * Checks if entity a has collided with entity b, which is when the probe of a
+     * in its direction of movement is inside the bounding box of b
+     * @param a slot of the moving entity
+     * @param b slot of the entity collided with
+     * @return true, if a has collided with b, as of the last updateProbes
+     */
+    public boolean collidesWith(int a, int b) {
+        return containsPoint(b, probeX[a], probeY[a]);
+    }
+}
@@ -1,5 +1,7 @@
 package pacman.model.entity.dynamic.physics;
 
+import java.nio.ByteBuffer;
+
 /**
  * Encapsulation of a dynamic entity's motion.
  */
@@ -15,6 +17,34 @@ public interface KinematicState {
      */
     Vector2D getPosition();
 
+    /**
+     * Places the entity at the position with no previous movement, moving at the speed in the direction
+     * @param position new position
+     * @param speed new speed
+     * @param direction new direction
+     */
+    void reset(Vector2D position, double speed, Direction direction);
+
+    /**
+     * @return x coordinate of the current position
+     */
+    double getX();
+
+    /**
+     * @return y coordinate of the current position
+     */
+    double getY();
+
+    /**
+     * @return x coordinate of the position before the last update
+     */
+    double getPreviousX();
+
+    /**
+     * @return y coordinate of the position before the last update
+     */
+    double getPreviousY();
+
     /**
      * Retrieves the potential position given a possible direction
      * @param direction the direction
@@ -22,11 +52,31 @@ public interface KinematicState {
      */
     Vector2D getPotentialPosition(Direction direction);
 
+    /**
+     * Retrieves the x coordinate of the potential position given a possible direction
+     * @param direction the direction
+     * @return x coordinate of the position given the direction
+     */
+    double getPotentialX(Direction direction);
+
+    /**
+     * Retrieves the y coordinate of the potential position given a possible direction
+     * @param direction the direction
+     * @return y coordinate of the position given the direction
+     */
+    double getPotentialY(Direction direction);
+
     /**
      * @param position The new position of this state.
      */
     void setPosition(Vector2D position);
 
+    /**
+     * @param x x coordinate of the new position of this state
+     * @param y y coordinate of the new position of this state
+     */
+    void setPosition(double x, double y);
+
     /**
      * @param speed The new velocity of this state.
      */
@@ -68,5 +118,21 @@ public interface KinematicState {
      * @return direction of Dynamic entity
      */
     Direction getDirection();
-}
 
+    /**
+     * Writes the position, speed and direction into the buffer
+     * @param buffer buffer to write to
+     */
+    void writeState(ByteBuffer buffer);
+
+    /**
+     * Number of bytes written by writeState
+     */
+    int STATE_SIZE = 5 * Double.BYTES + 1;
+
+    /**
+     * Restores the position, speed and direction written by writeState
+     * @param buffer buffer to read from
+     */
+    void readState(ByteBuffer buffer);
+}
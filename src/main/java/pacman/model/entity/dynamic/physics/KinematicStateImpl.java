@@ -1,56 +1,59 @@
 package pacman.model.entity.dynamic.physics;
 
+import java.nio.ByteBuffer;
+
 /**
- * Discrete kinematic state implementation.
+ * Discrete kinematic state implementation, as a view over the slot of the entity in an EntityStore.
+ * Updates allocate nothing; Vector2D instances are only created when requested through the Vector2D accessors.
  */
 public class KinematicStateImpl implements KinematicState {
-    private Vector2D position;
-    private Vector2D previousPosition;
-    private double speed;
-    private Vector2D velocity;
-    private Direction direction;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private final EntityStore store;
+    private final int slot;
 
-    private KinematicStateImpl(
-            Vector2D position,
-            double speed,
-            Direction direction
-            ) {
-        this.position = position;
-        this.previousPosition = position;
-        this.speed = speed;
-        this.velocity = createVelocityVector(direction);
-        this.direction = direction;
+    KinematicStateImpl(EntityStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
     }
 
     @Override
     public Vector2D getPosition() {
-        return this.position;
+        return new Vector2D(store.getX(slot), store.getY(slot));
+    }
+
+    @Override
+    public double getX() {
+        return store.getX(slot);
+    }
+
+    @Override
+    public double getY() {
+        return store.getY(slot);
     }
 
     @Override
     public void setPosition(Vector2D position) {
-        this.position = position;
+        setPosition(position.getX(), position.getY());
+    }
+
+    @Override
+    public void setPosition(double x, double y) {
+        store.setPosition(slot, x, y);
     }
 
     @Override
     public void setSpeed(double speed) {
-        this.speed = speed;
-        this.velocity = createVelocityVector(direction);
+        store.setSpeed(slot, speed);
     }
 
     @Override
     public void update() {
-        this.previousPosition = position;
-        this.position = this.position.add(this.velocity);
+        store.move(slot);
     }
 
-    private Vector2D createVelocityVector(Direction direction) {
-        return switch (direction) {
-            case LEFT -> new Vector2D(-speed, 0);
-            case RIGHT -> new Vector2D(speed, 0);
-            case UP -> new Vector2D(0, -speed);
-            case DOWN -> new Vector2D(0, speed);
-        };
+    @Override
+    public void reset(Vector2D position, double speed, Direction direction) {
+        store.reset(slot, position.getX(), position.getY(), speed, direction);
     }
 
     @Override
@@ -58,53 +61,80 @@ public class KinematicStateImpl implements KinematicState {
         if (direction == null) {
             return this.getPosition(); // Fallback to current position if direction is null
         }
-        // Calculate the potential position based on direction and speed
-        return switch (direction) {
-            case LEFT -> this.position.add(new Vector2D(-speed, 0));
-            case RIGHT -> this.position.add(new Vector2D(speed, 0));
-            case UP -> this.position.add(new Vector2D(0, -speed));
-            case DOWN -> this.position.add(new Vector2D(0, speed));
-        };
+        return new Vector2D(getPotentialX(direction), getPotentialY(direction));
+    }
+
+    @Override
+    public double getPotentialX(Direction direction) {
+        return store.getX(slot) + direction.getDeltaX() * store.getSpeed(slot);
+    }
+
+    @Override
+    public double getPotentialY(Direction direction) {
+        return store.getY(slot) + direction.getDeltaY() * store.getSpeed(slot);
     }
-    
 
     @Override
     public Direction getDirection() {
-        return this.direction;
+        return store.getDirection(slot);
     }
 
     @Override
     public void left(){
-        this.direction = Direction.LEFT;
-        this.velocity = createVelocityVector(Direction.LEFT);
+        store.setDirection(slot, Direction.LEFT);
     }
 
     @Override
     public void right(){
-        this.direction = Direction.RIGHT;
-        this.velocity = createVelocityVector(Direction.RIGHT);
+        store.setDirection(slot, Direction.RIGHT);
     }
 
     @Override
     public void up(){
-        this.direction = Direction.UP;
-        this.velocity = createVelocityVector(Direction.UP);
+        store.setDirection(slot, Direction.UP);
     }
 
     @Override
     public void down(){
-        this.direction = Direction.DOWN;
-        this.velocity = createVelocityVector(Direction.DOWN);
+        store.setDirection(slot, Direction.DOWN);
     }
 
     @Override
     public double getSpeed(){
-        return this.speed;
+        return store.getSpeed(slot);
     }
 
     @Override
     public Vector2D getPreviousPosition() {
-        return previousPosition;
+        return new Vector2D(store.getPreviousX(slot), store.getPreviousY(slot));
+    }
+
+    @Override
+    public double getPreviousX() {
+        return store.getPreviousX(slot);
+    }
+
+    @Override
+    public double getPreviousY() {
+        return store.getPreviousY(slot);
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        buffer.putDouble(store.getX(slot));
+        buffer.putDouble(store.getY(slot));
+        buffer.putDouble(store.getPreviousX(slot));
+        buffer.putDouble(store.getPreviousY(slot));
+        buffer.putDouble(store.getSpeed(slot));
+        buffer.put((byte) store.getDirection(slot).ordinal());
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        store.setPosition(slot, buffer.getDouble(), buffer.getDouble());
+        store.setPreviousPosition(slot, buffer.getDouble(), buffer.getDouble());
+        store.setSpeed(slot, buffer.getDouble());
+        store.setDirection(slot, DIRECTIONS[buffer.get()]);
     }
 
     public static class KinematicStateBuilder {
@@ -127,12 +157,11 @@ public class KinematicStateImpl implements KinematicState {
             return this;
         }
 
-        public KinematicStateImpl build() {
-            return new KinematicStateImpl(
-                    this.position,
-                    this.speed,
-                    this.direction
-            );
+        /**
+         * Builds a kinematic state with fields of its own, for an entity outside of any maze
+         */
+        public KinematicState build() {
+            return new StandaloneKinematicState(this.position, this.speed, this.direction);
         }
     }
 }
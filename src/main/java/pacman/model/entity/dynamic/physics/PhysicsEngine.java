@@ -22,8 +22,7 @@ public class PhysicsEngine {
         }
 
         // set position back to position prior to collision
-        Vector2D aPreviousPosition = a.getPositionBeforeLastUpdate();
-        a.setPosition(aPreviousPosition);
+        a.restorePositionBeforeLastUpdate();
     }
 }
 
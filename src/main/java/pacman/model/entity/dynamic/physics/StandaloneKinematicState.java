@@ -0,0 +1,152 @@
+package pacman.model.entity.dynamic.physics;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Kinematic state held in fields of its own, for an entity outside of any EntityStore.
+ * Entities of a maze use KinematicStateImpl views over the store instead.
+ */
+final class StandaloneKinematicState implements KinematicState {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private double x;
+    private double y;
+    private double previousX;
+    private double previousY;
+    private double speed;
+    private Direction direction;
+
+    StandaloneKinematicState(Vector2D position, double speed, Direction direction) {
+        reset(position, speed, direction);
+    }
+
+    @Override
+    public Vector2D getPosition() {
+        return new Vector2D(x, y);
+    }
+
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public void setPosition(Vector2D position) {
+        setPosition(position.getX(), position.getY());
+    }
+
+    @Override
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    @Override
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    @Override
+    public void update() {
+        this.previousX = x;
+        this.previousY = y;
+        this.x += direction.getDeltaX() * speed;
+        this.y += direction.getDeltaY() * speed;
+    }
+
+    @Override
+    public void reset(Vector2D position, double speed, Direction direction) {
+        this.x = position.getX();
+        this.y = position.getY();
+        this.previousX = x;
+        this.previousY = y;
+        this.speed = speed;
+        this.direction = direction;
+    }
+
+    @Override
+    public Vector2D getPotentialPosition(Direction direction) {
+        if (direction == null) {
+            return this.getPosition(); // Fallback to current position if direction is null
+        }
+        return new Vector2D(getPotentialX(direction), getPotentialY(direction));
+    }
+
+    @Override
+    public double getPotentialX(Direction direction) {
+        return x + direction.getDeltaX() * speed;
+    }
+
+    @Override
+    public double getPotentialY(Direction direction) {
+        return y + direction.getDeltaY() * speed;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void left() {
+        this.direction = Direction.LEFT;
+    }
+
+    @Override
+    public void right() {
+        this.direction = Direction.RIGHT;
+    }
+
+    @Override
+    public void up() {
+        this.direction = Direction.UP;
+    }
+
+    @Override
+    public void down() {
+        this.direction = Direction.DOWN;
+    }
+
+    @Override
+    public double getSpeed() {
+        return speed;
+    }
+
+    @Override
+    public Vector2D getPreviousPosition() {
+        return new Vector2D(previousX, previousY);
+    }
+
+    @Override
+    public double getPreviousX() {
+        return previousX;
+    }
+
+    @Override
+    public double getPreviousY() {
+        return previousY;
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        buffer.putDouble(x);
+        buffer.putDouble(y);
+        buffer.putDouble(previousX);
+        buffer.putDouble(previousY);
+        buffer.putDouble(speed);
+        buffer.put((byte) direction.ordinal());
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        setPosition(buffer.getDouble(), buffer.getDouble());
+        this.previousX = buffer.getDouble();
+        this.previousY = buffer.getDouble();
+        this.speed = buffer.getDouble();
+        this.direction = DIRECTIONS[buffer.get()];
+    }
+}
@@ -54,8 +54,17 @@ public class Vector2D {
             throw new IllegalArgumentException("One of the vectors is null. Cannot calculate Euclidean distance.");
         }
     
-        double xDistance = vector2.getX() - vector1.getX();
-        double yDistance = vector2.getY() - vector1.getY();
+        return calculateEuclideanDistance(vector1.getX(), vector1.getY(), vector2.getX(), vector2.getY());
+    }
+
+    /**
+     * Calculates the Euclidean distance between two points given by their coordinates, without allocating vectors.
+     *
+     * @return The Euclidean distance between (x1, y1) and (x2, y2).
+     */
+    public static double calculateEuclideanDistance(double x1, double y1, double x2, double y2) {
+        double xDistance = x2 - x1;
+        double yDistance = y2 - y1;
         return Math.sqrt(Math.pow(xDistance, 2) + Math.pow(yDistance, 2));
     }
     
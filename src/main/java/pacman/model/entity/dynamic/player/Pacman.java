@@ -6,34 +6,42 @@ import pacman.model.entity.dynamic.physics.*;
 import pacman.model.entity.staticentity.collectable.Collectable;
 import pacman.model.level.Level;
 
-import java.util.*;
+import java.nio.ByteBuffer;
+import java.util.Map;
 
 //Represents Pacman entity in Pac-Man Game according the factory method
 
 public class Pacman implements Controllable {
 
     public static final int PACMAN_IMAGE_SWAP_TICK_COUNT = 8;
+    private static final PacmanVisual[] VISUALS = PacmanVisual.values();
     private final Layer layer = Layer.FOREGROUND;
     private final Map<PacmanVisual, Image> images;
+    private final EntityStore entityStore;
+    private final int slot;
     private final BoundingBox boundingBox;
+    private final KinematicState kinematicState;
     private final Vector2D startingPosition;
-    private KinematicState kinematicState;
     private Image currentImage;
-    private Set<Direction> possibleDirections;
     private boolean isClosedImage;
 
+    /**
+     * @param entityStore store holding the physics state of Pac-Man
+     * @param slot slot of Pac-Man in the store
+     */
     public Pacman(
             Image currentImage,
             Map<PacmanVisual, Image> images,
-            BoundingBox boundingBox,
-            KinematicState kinematicState
+            EntityStore entityStore,
+            int slot
     ){
         this.currentImage = currentImage;
         this.images = images;
-        this.boundingBox = boundingBox;
-        this.kinematicState = kinematicState;
+        this.entityStore = entityStore;
+        this.slot = slot;
+        this.boundingBox = entityStore.getBoundingBox(slot);
+        this.kinematicState = entityStore.getKinematicState(slot);
         this.startingPosition = kinematicState.getPosition();
-        this.possibleDirections = new HashSet<>();
         this.isClosedImage = false;
     }
 
@@ -42,6 +50,21 @@ public class Pacman implements Controllable {
         this.kinematicState.setPosition(position);
     }
 
+    @Override
+    public void restorePositionBeforeLastUpdate() {
+        this.kinematicState.setPosition(this.kinematicState.getPreviousX(), this.kinematicState.getPreviousY());
+    }
+
+    @Override
+    public double getX() {
+        return this.kinematicState.getX();
+    }
+
+    @Override
+    public double getY() {
+        return this.kinematicState.getY();
+    }
+
     @Override
     public Image getImage() {
         if (isClosedImage){
@@ -61,9 +84,15 @@ public class Pacman implements Controllable {
         return this.kinematicState.getPreviousPosition();
     }
 
+    @Override
+    public void updateDirection() {
+        // Pac-Man only turns on player input
+    }
+
+    @Override
     public void update() {
         kinematicState.update();
-        this.boundingBox.setTopLeft(this.kinematicState.getPosition());
+        this.boundingBox.setTopLeft(this.kinematicState.getX(), this.kinematicState.getY());
     }
 
     @Override
@@ -116,10 +145,7 @@ public class Pacman implements Controllable {
 
     @Override
     public void reset(){
-        this.kinematicState = new KinematicStateImpl.KinematicStateBuilder()
-                .setPosition(startingPosition)
-                .setSpeed(kinematicState.getSpeed())
-                .build();
+        this.kinematicState.reset(startingPosition, kinematicState.getSpeed(), Direction.LEFT);
 
         // go left by default
         left();
@@ -141,8 +167,8 @@ public class Pacman implements Controllable {
     }
 
     @Override
-    public void setPossibleDirections(Set<Direction> possibleDirections) {
-        this.possibleDirections = possibleDirections;
+    public void setPossibleDirections(int possibleDirections) {
+        this.entityStore.setPossibleDirections(slot, possibleDirections);
     }
 
     @Override
@@ -155,6 +181,43 @@ public class Pacman implements Controllable {
         return new Vector2D(boundingBox.getMiddleX(), boundingBox.getMiddleY());
     }
 
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        this.kinematicState.writeState(buffer);
+        buffer.putDouble(this.boundingBox.getLeftX());
+        buffer.putDouble(this.boundingBox.getTopY());
+        buffer.put((byte) this.entityStore.getPossibleDirections(slot));
+        buffer.put((byte) (this.isClosedImage ? 1 : 0));
+        buffer.put((byte) getCurrentVisual());
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        this.kinematicState.readState(buffer);
+        this.boundingBox.setTopLeft(buffer.getDouble(), buffer.getDouble());
+        this.entityStore.setPossibleDirections(slot, buffer.get());
+        this.isClosedImage = buffer.get() != 0;
+        int currentVisual = buffer.get();
+        if (currentVisual >= 0) {
+            this.currentImage = images.get(VISUALS[currentVisual]);
+        }
+    }
+
+    @Override
+    public int getStateSize() {
+        return KinematicState.STATE_SIZE + 2 * Double.BYTES + 3;
+    }
+
+    // The initial image is not one of the visuals, in which case -1 is returned
+    private int getCurrentVisual() {
+        for (PacmanVisual visual : VISUALS) {
+            if (images.get(visual) == currentImage) {
+                return visual.ordinal();
+            }
+        }
+        return -1;
+    }
+
     @Override
     public void switchImage(){
         this.isClosedImage = !this.isClosedImage;
@@ -3,6 +3,7 @@ package pacman.model.level;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.staticentity.collectable.Collectable;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
@@ -84,4 +85,16 @@ public interface Level {
      * Level will remove all dynamic entities from game.
      */
     void handleGameEnd();
+
+    /**
+     * Writes the mutable state of the level and its entities into the buffer
+     * @param buffer buffer to write to
+     */
+    void writeState(ByteBuffer buffer);
+
+    /**
+     * Restores the state written by writeState from a level of the same maze
+     * @param buffer buffer to read from
+     */
+    void readState(ByteBuffer buffer);
 }
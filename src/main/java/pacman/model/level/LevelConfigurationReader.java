@@ -4,7 +4,7 @@ import org.json.simple.JSONObject;
 import pacman.ConfigurationParseException;
 import pacman.model.entity.dynamic.ghost.GhostMode;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 public class LevelConfigurationReader {
@@ -15,24 +15,36 @@ public class LevelConfigurationReader {
         this.levelConfiguration = levelConfiguration;
     }
 
+    /**
+     * Reads and validates the whole level configuration
+     * @return typed spec of the level
+     */
+    public LevelSpec readLevelSpec() {
+        return new LevelSpec(getPlayerSpeed(), getGhostSpeeds(), getGhostModeLengths());
+    }
+
     /**
      * Retrieves the player's speed for the level
      * @return the player's speed for the level
      */
     public double getPlayerSpeed() {
         try {
-            return ((Number) levelConfiguration.get("pacmanSpeed")).doubleValue();
+            double playerSpeed = ((Number) levelConfiguration.get("pacmanSpeed")).doubleValue();
+            if (!(playerSpeed >= 0) || Double.isInfinite(playerSpeed)) {
+                throw new ConfigurationParseException("'pacmanSpeed' must be a non-negative number");
+            }
+            return playerSpeed;
         } catch (NullPointerException | ClassCastException e) {
             throw new ConfigurationParseException("Invalid or missing 'pacmanSpeed' in configuration");
         }
     }
 
     /**
-     * Retrieves the lengths of the ghost modes in seconds
-     * @return the lengths of the ghost modes in seconds
+     * Retrieves the lengths of the ghost modes in ticks
+     * @return the lengths of the ghost modes in ticks
      */
     public Map<GhostMode, Integer> getGhostModeLengths() {
-        Map<GhostMode, Integer> ghostModeLengths = new HashMap<>();
+        Map<GhostMode, Integer> ghostModeLengths = new EnumMap<>(GhostMode.class);
         try {
             JSONObject modeLengthsObject = (JSONObject) levelConfiguration.get("modeLengths");
             ghostModeLengths.put(GhostMode.CHASE, ((Number) modeLengthsObject.get("chase")).intValue());
@@ -40,6 +52,12 @@ public class LevelConfigurationReader {
         } catch (NullPointerException | ClassCastException e) {
             throw new ConfigurationParseException("Invalid or missing 'modeLengths' configuration");
         }
+
+        for (int modeLength : ghostModeLengths.values()) {
+            if (modeLength <= 0) {
+                throw new ConfigurationParseException("'modeLengths' must be positive numbers of ticks");
+            }
+        }
         return ghostModeLengths;
     }
 
@@ -48,7 +66,7 @@ public class LevelConfigurationReader {
      * @return the speeds of the ghosts for each ghost mode
      */
     public Map<GhostMode, Double> getGhostSpeeds() {
-        Map<GhostMode, Double> ghostSpeeds = new HashMap<>();
+        Map<GhostMode, Double> ghostSpeeds = new EnumMap<>(GhostMode.class);
         try {
             JSONObject ghostSpeed = (JSONObject) levelConfiguration.get("ghostSpeed");
             ghostSpeeds.put(GhostMode.CHASE, ((Number) ghostSpeed.get("chase")).doubleValue());
@@ -56,6 +74,12 @@ public class LevelConfigurationReader {
         } catch (NullPointerException | ClassCastException e) {
             throw new ConfigurationParseException("Invalid or missing 'ghostSpeed' configuration");
         }
+
+        for (double speed : ghostSpeeds.values()) {
+            if (!(speed >= 0) || Double.isInfinite(speed)) {
+                throw new ConfigurationParseException("'ghostSpeed' must be non-negative numbers");
+            }
+        }
         return ghostSpeeds;
     }
 }
@@ -1,24 +1,26 @@
 package pacman.model.level;
 
-import org.json.simple.JSONObject;
 import pacman.ConfigurationParseException;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.dynamic.DynamicEntity;
 import pacman.model.entity.dynamic.ghost.Ghost;
 import pacman.model.entity.dynamic.ghost.GhostMode;
+import pacman.model.entity.dynamic.physics.BoundingBox;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.EntityStore;
 import pacman.model.entity.dynamic.physics.PhysicsEngine;
-import pacman.model.entity.dynamic.physics.Vector2D;
 import pacman.model.entity.dynamic.player.Controllable;
 import pacman.model.entity.dynamic.player.Pacman;
 import pacman.model.entity.staticentity.StaticEntity;
 import pacman.model.entity.staticentity.collectable.Collectable;
+import pacman.model.maze.DistanceField;
 import pacman.model.maze.Maze;
+import pacman.model.maze.MazeCreator;
+import pacman.model.maze.PelletIndex;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 //Concrete implementation of Pac-Man level
@@ -26,62 +28,94 @@ import java.util.stream.Collectors;
 public class LevelImpl implements Level {
 
     private static final int START_LEVEL_TIME = 200;
+    private static final GhostMode[] GHOST_MODES = GhostMode.values();
+    private static final int STATE_HEADER_SIZE = 4 * Integer.BYTES + 1;
     private final Maze maze;
     private List<Renderable> renderables;
+    private List<DynamicEntity> dynamicEntities;
+    private EntityStore entityStore;
+    private final List<StaticEntity> nearbyStaticEntities;
     private Controllable player;
     private List<Ghost> ghosts;
     private int tickCount;
-    private Map<GhostMode, Integer> modeLengths;
+    private final LevelSpec levelSpec;
     private int numLives;
-    private List<Renderable> collectables;
+    private PelletIndex pelletIndex;
     private GhostMode currentGhostMode;
     private int score;
+    private DistanceField chaseField;
+    private int chaseTileX;
+    private int chaseTileY;
+    private final SnapshotBuffer snapshotBuffer;
 
-    public LevelImpl(JSONObject levelConfiguration, Maze maze) {
+    public LevelImpl(LevelSpec levelSpec, Maze maze) {
+        this(levelSpec, maze, null);
+    }
+
+    /**
+     * @param snapshotBuffer buffer the level writes a snapshot into at the end of every tick, or null for none
+     */
+    public LevelImpl(LevelSpec levelSpec, Maze maze, SnapshotBuffer snapshotBuffer) {
         this.renderables = new ArrayList<>();
+        this.snapshotBuffer = snapshotBuffer;
         this.maze = maze;
+        this.nearbyStaticEntities = new ArrayList<>();
         this.tickCount = 0;
-        this.modeLengths = new HashMap<>();
+        this.levelSpec = levelSpec;
         this.currentGhostMode = GhostMode.SCATTER;
         this.score = 0;
-        initLevel(new LevelConfigurationReader(levelConfiguration));
+        initLevel();
     }
 
-    private void initLevel(LevelConfigurationReader levelConfigurationReader) {
+    private void initLevel() {
         this.renderables = maze.getRenderables();
+        this.dynamicEntities = renderables.stream()
+                .filter(e -> e instanceof DynamicEntity)
+                .map(e -> (DynamicEntity) e)
+                .collect(Collectors.toList());
+
+        // Movement and collisions run over the entity store, in which slot i holds dynamic entity i
+        this.entityStore = maze.getEntityStore();
+        if (entityStore.size() != dynamicEntities.size()) {
+            throw new ConfigurationParseException("Dynamic entities must be created in the entity store of the maze");
+        }
 
         if (!(maze.getControllable() instanceof Controllable)) {
             throw new ConfigurationParseException("Player entity is not controllable");
         }
         this.player = (Controllable) maze.getControllable();
-        this.player.setSpeed(levelConfigurationReader.getPlayerSpeed());
+        this.player.setSpeed(levelSpec.getPlayerSpeed());
         setNumLives(maze.getNumLives());
 
         // Set up ghosts
         this.ghosts = maze.getGhosts().stream()
                 .map(element -> (Ghost) element)
                 .collect(Collectors.toList());
-        Map<GhostMode, Double> ghostSpeeds = levelConfigurationReader.getGhostSpeeds();
+        double[] ghostSpeeds = levelSpec.getGhostSpeeds();
 
         for (Ghost ghost : this.ghosts) {
             ghost.setSpeeds(ghostSpeeds);
             ghost.setGhostMode(this.currentGhostMode);
+            ghost.setDistanceFieldCache(maze.getDistanceFieldCache());
         }
-        this.modeLengths = levelConfigurationReader.getGhostModeLengths();
+        this.pelletIndex = maze.getPelletIndex();
 
-        this.collectables = new ArrayList<>(maze.getPellets());
+        // Entities have just been placed, so there is nothing to interpolate from
+        if (snapshotBuffer != null) {
+            snapshotBuffer.write(renderables, score, numLives, false);
+        }
     }
 
+    // Only the pellet in the tile under Pac-Man's collision probe can be collided with
     private void checkPacmanPelletCollision() {
-        Iterator<Renderable> pelletIterator = collectables.iterator();
-        while (pelletIterator.hasNext()) {
-            Renderable pellet = pelletIterator.next();
-            if (pellet instanceof Collectable && 
-                player.getBoundingBox().collidesWith(player.getDirection(), pellet.getBoundingBox())) {
-                Collectable collectable = (Collectable) pellet;
-                collect(collectable); 
-                pelletIterator.remove();
-            }
+        BoundingBox playerBoundingBox = player.getBoundingBox();
+        Direction playerDirection = player.getDirection();
+        double probeX = playerBoundingBox.getProbeX(playerDirection);
+        double probeY = playerBoundingBox.getProbeY(playerDirection);
+
+        Collectable collectable = pelletIndex.getCollectableAt(probeX, probeY);
+        if (collectable != null && collectable.getBoundingBox().containsPoint(probeX, probeY)) {
+            collect(collectable);
         }
     }
 
@@ -90,25 +124,17 @@ public class LevelImpl implements Level {
         return this.renderables;
     }
 
-    private List<DynamicEntity> getDynamicEntities() {
-        return renderables.stream().filter(e -> e instanceof DynamicEntity).map(e -> (DynamicEntity) e).collect(
-                Collectors.toList());
-    }
-
-    private List<StaticEntity> getStaticEntities() {
-        return renderables.stream().filter(e -> e instanceof StaticEntity).map(e -> (StaticEntity) e).collect(
-                Collectors.toList());
-    }
-    
 
     @Override
     public void tick() {
+        maze.updateActiveRegion();
+
         // Handle ghost mode switching
         updateGhostsWithPlayerPosition();
-        if (tickCount == modeLengths.get(currentGhostMode)) {
+        if (tickCount == levelSpec.getModeLength(currentGhostMode)) {
             this.currentGhostMode = GhostMode.getNextGhostMode(currentGhostMode);
-            for (Ghost ghost : this.ghosts) {
-                ghost.setGhostMode(this.currentGhostMode);
+            for (int i = 0; i < ghosts.size(); ++i) {
+                ghosts.get(i).setGhostMode(this.currentGhostMode);
             }
             tickCount = 0;
         }
@@ -118,35 +144,42 @@ public class LevelImpl implements Level {
             this.player.switchImage();
         }
 
-        // Update the dynamic entities
-        List<DynamicEntity> dynamicEntities = getDynamicEntities();
-
-        for (DynamicEntity dynamicEntity : dynamicEntities) {
-            maze.updatePossibleDirections(dynamicEntity);
-            dynamicEntity.update();
+        // Update the dynamic entities: only steering needs the entities, moving is done over the store
+        maze.updatePossibleDirections();
+        for (int i = 0; i < dynamicEntities.size(); ++i) {
+            dynamicEntities.get(i).updateDirection();
         }
+        entityStore.update();
 
         // Check Pac-Man and pellet collisions
         checkPacmanPelletCollision();
 
         // Handle collisions between dynamic entities and static entities
+        entityStore.updateProbes();
         for (int i = 0; i < dynamicEntities.size(); ++i) {
             DynamicEntity dynamicEntityA = dynamicEntities.get(i);
 
-            // Handle dynamic entity to dynamic entity collisions
+            // Handle dynamic entity to dynamic entity collisions, tested on the store
             for (int j = i + 1; j < dynamicEntities.size(); ++j) {
-                DynamicEntity dynamicEntityB = dynamicEntities.get(j);
-
-                if (dynamicEntityA.collidesWith(dynamicEntityB) ||
-                        dynamicEntityB.collidesWith(dynamicEntityA)) {
+                if (entityStore.collidesWith(i, j) || entityStore.collidesWith(j, i)) {
+                    DynamicEntity dynamicEntityB = dynamicEntities.get(j);
                     dynamicEntityA.collideWith(this, dynamicEntityB);
                     dynamicEntityB.collideWith(this, dynamicEntityA);
+
+                    // Collisions may have reset entities
+                    entityStore.updateProbes();
                 }
             }
 
-            // Handle dynamic entity to static entity collisions
-            for (StaticEntity staticEntity : getStaticEntities()) {
-                if (dynamicEntityA.collidesWith(staticEntity)) {
+            // Handle dynamic entity to static entity collisions, using the maze's spatial grid as broad-phase
+            maze.getStaticEntityIndex().getNearbyEntities(entityStore.getLeftX(i), entityStore.getTopY(i),
+                    entityStore.getWidth(i), entityStore.getHeight(i), nearbyStaticEntities);
+            Direction direction = entityStore.getDirection(i);
+            double probeX = entityStore.getProbeX(i, direction);
+            double probeY = entityStore.getProbeY(i, direction);
+            for (int j = 0; j < nearbyStaticEntities.size(); ++j) {
+                StaticEntity staticEntity = nearbyStaticEntities.get(j);
+                if (staticEntity.getBoundingBox().containsPoint(probeX, probeY)) {
                     dynamicEntityA.collideWith(this, staticEntity);
                     PhysicsEngine.resolveCollision(dynamicEntityA, staticEntity);
                 }
@@ -154,12 +187,33 @@ public class LevelImpl implements Level {
         }
 
         tickCount++;
+        if (snapshotBuffer != null) {
+            snapshotBuffer.write(renderables, score, numLives, true);
+        }
     }
 
     private void updateGhostsWithPlayerPosition() {
-        Vector2D playerPosition = player.getPosition();
-        for (Ghost ghost : ghosts) {
-            ghost.setPlayerPosition(playerPosition); 
+        double playerX = player.getX();
+        double playerY = player.getY();
+        for (int i = 0; i < ghosts.size(); ++i) {
+            ghosts.get(i).setPlayerPosition(playerX, playerY);
+        }
+        updateChaseField(playerX, playerY);
+    }
+
+    // The chase field only changes when Pac-Man moves into another tile
+    private void updateChaseField(double playerX, double playerY) {
+        int tileX = (int) Math.floor((playerX + player.getWidth() / 2) / MazeCreator.RESIZING_FACTOR);
+        int tileY = (int) Math.floor((playerY + player.getHeight() / 2) / MazeCreator.RESIZING_FACTOR);
+        if (chaseField != null && tileX == chaseTileX && tileY == chaseTileY) {
+            return;
+        }
+
+        this.chaseTileX = tileX;
+        this.chaseTileY = tileY;
+        this.chaseField = maze.getDistanceFieldCache().getDistanceField(tileX, tileY);
+        for (int i = 0; i < ghosts.size(); ++i) {
+            ghosts.get(i).setChaseField(chaseField);
         }
     }
     
@@ -171,7 +225,7 @@ public class LevelImpl implements Level {
 
     @Override
     public boolean isCollectable(Renderable renderable) {
-        return maze.getPellets().contains(renderable) && ((Collectable) renderable).isCollectable();
+        return pelletIndex.contains(renderable) && ((Collectable) renderable).isCollectable();
     }
 
     @Override
@@ -195,10 +249,10 @@ public class LevelImpl implements Level {
     }
 
     @Override
-public boolean isLevelFinished() {
-    // All pellets are collected
-    return collectables.isEmpty();
-}
+    public boolean isLevelFinished() {
+        // All pellets are collected
+        return pelletIndex.getNumRemaining() == 0;
+    }
 
 
     @Override
@@ -227,10 +281,73 @@ public boolean isLevelFinished() {
         return this.score;
     }
 
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(dynamicEntities.size());
+        buffer.putInt(tickCount);
+        buffer.putInt(score);
+        buffer.putInt(numLives);
+        buffer.put((byte) currentGhostMode.ordinal());
+
+        for (int i = 0; i < dynamicEntities.size(); ++i) {
+            dynamicEntities.get(i).writeState(buffer);
+        }
+        pelletIndex.writeState(buffer);
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        checkState(maze, buffer, buffer.position());
+        buffer.getInt();
+        this.tickCount = buffer.getInt();
+        this.score = buffer.getInt();
+        this.numLives = buffer.getInt();
+        this.currentGhostMode = GHOST_MODES[buffer.get()];
+
+        for (int i = 0; i < dynamicEntities.size(); ++i) {
+            dynamicEntities.get(i).readState(buffer);
+        }
+        pelletIndex.readState(buffer);
+
+        // The chase field is rebuilt for the restored player position on the next tick
+        this.chaseField = null;
+        if (snapshotBuffer != null) {
+            snapshotBuffer.write(renderables, score, numLives, false);
+        }
+    }
+
+    /**
+     * Checks that the buffer holds a whole state written by a level of the maze, without reading it,
+     * so that a state that does not fit can be rejected before anything is restored
+     * @param maze maze of the level the state is for
+     * @param buffer buffer holding the state
+     * @param index index of the state in the buffer
+     * @throws IllegalArgumentException if the state was not written for the maze or is truncated
+     */
+    public static void checkState(Maze maze, ByteBuffer buffer, int index) {
+        if (buffer.limit() - index < STATE_HEADER_SIZE || buffer.getInt(index) != maze.getEntityStore().size()) {
+            throw new IllegalArgumentException("State was not written by a level of this maze");
+        }
+        int ghostMode = buffer.get(index + 4 * Integer.BYTES);
+        if (ghostMode < 0 || ghostMode >= GHOST_MODES.length) {
+            throw new IllegalArgumentException("State holds an unknown ghost mode " + ghostMode);
+        }
+
+        long pelletIndex = index + STATE_HEADER_SIZE + ((DynamicEntity) maze.getControllable()).getStateSize();
+        for (Renderable ghost : maze.getGhosts()) {
+            pelletIndex += ((DynamicEntity) ghost).getStateSize();
+        }
+        if (pelletIndex > buffer.limit()) {
+            throw new IllegalArgumentException("State is truncated");
+        }
+        maze.getPelletIndex().checkState(buffer, (int) pelletIndex);
+    }
+
     @Override
     public void collect(Collectable collectable) {
         if (collectable.isCollectable()) {
             collectable.collect();
+            pelletIndex.markCollected(collectable);
             score += collectable.getPoints();
         }
     }
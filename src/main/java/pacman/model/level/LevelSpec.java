@@ -0,0 +1,57 @@
+package pacman.model.level;
+
+import pacman.model.entity.dynamic.ghost.GhostMode;
+
+import java.util.Map;
+
+/**
+ * Immutable configuration of a level, parsed once when the game configuration is loaded.
+ * A spec can be shared by every engine and level created from the configuration. Its values are
+ * primitives in arrays indexed by ghost mode ordinal, so lookups on every tick neither box nor hash.
+ */
+public final class LevelSpec {
+
+    private static final GhostMode[] GHOST_MODES = GhostMode.values();
+    private final double playerSpeed;
+    private final double[] ghostSpeeds;
+    private final int[] modeLengths;
+
+    /**
+     * @param playerSpeed speed of the player
+     * @param ghostSpeeds speed of the ghosts in each ghost mode, with an entry for every mode
+     * @param modeLengths number of ticks each ghost mode lasts, with an entry for every mode
+     */
+    public LevelSpec(double playerSpeed, Map<GhostMode, Double> ghostSpeeds, Map<GhostMode, Integer> modeLengths) {
+        this.playerSpeed = playerSpeed;
+        this.ghostSpeeds = new double[GHOST_MODES.length];
+        this.modeLengths = new int[GHOST_MODES.length];
+
+        for (GhostMode ghostMode : GHOST_MODES) {
+            if (!ghostSpeeds.containsKey(ghostMode) || !modeLengths.containsKey(ghostMode)) {
+                throw new IllegalArgumentException("Level spec has no entry for ghost mode " + ghostMode);
+            }
+            this.ghostSpeeds[ghostMode.ordinal()] = ghostSpeeds.get(ghostMode);
+            this.modeLengths[ghostMode.ordinal()] = modeLengths.get(ghostMode);
+        }
+    }
+
+    public double getPlayerSpeed() {
+        return playerSpeed;
+    }
+
+    /**
+     * Gets the speeds of the ghosts, as a copy that can be shared by every ghost of a level
+     * @return speed of the ghosts in each ghost mode, indexed by GhostMode ordinal
+     */
+    public double[] getGhostSpeeds() {
+        return ghostSpeeds.clone();
+    }
+
+    /**
+     * @param ghostMode ghost mode
+     * @return number of ticks the ghost mode lasts
+     */
+    public int getModeLength(GhostMode ghostMode) {
+        return modeLengths[ghostMode.ordinal()];
+    }
+}
@@ -0,0 +1,109 @@
+package pacman.model.level;
+
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.DynamicEntity;
+import pacman.model.entity.staticentity.StaticEntity;
+import pacman.model.entity.staticentity.collectable.Collectable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer of WorldSnapshots, handing snapshots from the simulation thread to a single reader.
+ * The writer fills the back buffer and publishes it by swapping it with the middle buffer,
+ * and the reader swaps the middle buffer with its front buffer only when a newer snapshot is available.
+ * Neither side ever waits on the other, and no snapshot is allocated after the first few ticks.
+ */
+public class SnapshotBuffer {
+
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+    private final SpriteTable spriteTable;
+    private final WorldSnapshot[] snapshots;
+    private final AtomicInteger middle;
+    private int back;
+    private int front;
+    private List<Renderable> indexedRenderables;
+    private int[] changingIndices;
+    private int numChangingIndices;
+    private DynamicEntity[] changingDynamicEntities;
+    private double[] lastX;
+    private double[] lastY;
+
+    public SnapshotBuffer() {
+        this.spriteTable = new SpriteTable();
+        this.snapshots = new WorldSnapshot[] {
+                new WorldSnapshot(spriteTable), new WorldSnapshot(spriteTable), new WorldSnapshot(spriteTable)
+        };
+        this.back = 0;
+        this.middle = new AtomicInteger(1);
+        this.front = 2;
+        this.changingIndices = new int[0];
+        this.changingDynamicEntities = new DynamicEntity[0];
+        this.lastX = new double[0];
+        this.lastY = new double[0];
+    }
+
+    /**
+     * Writes the renderables into the back buffer, called by the level at the end of a tick
+     * @param renderables renderables of the level
+     * @param interpolate false, if the renderables were just placed and should not be interpolated
+     */
+    void write(List<Renderable> renderables, int score, int numLives, boolean interpolate) {
+        if (renderables != indexedRenderables || renderables.size() != lastX.length) {
+            indexChangingRenderables(renderables);
+            interpolate = false;
+        }
+
+        WorldSnapshot snapshot = snapshots[back];
+        snapshot.write(renderables, changingIndices, numChangingIndices, changingDynamicEntities,
+                interpolate ? lastX : null, interpolate ? lastY : null, score, numLives);
+        snapshot.copyPositions(changingIndices, numChangingIndices, lastX, lastY);
+    }
+
+    // Walls never move or change image, so only the other renderables are rewritten each tick.
+    // Type checks against interfaces are slow on a miss, so the renderables are classified once here.
+    private void indexChangingRenderables(List<Renderable> renderables) {
+        this.indexedRenderables = renderables;
+        this.changingIndices = new int[renderables.size()];
+        this.changingDynamicEntities = new DynamicEntity[renderables.size()];
+        this.numChangingIndices = 0;
+        for (int i = 0; i < renderables.size(); i++) {
+            Renderable renderable = renderables.get(i);
+            if (!(renderable instanceof StaticEntity) || renderable instanceof Collectable) {
+                changingDynamicEntities[numChangingIndices] =
+                        renderable instanceof DynamicEntity ? (DynamicEntity) renderable : null;
+                changingIndices[numChangingIndices++] = i;
+            }
+        }
+        this.lastX = new double[renderables.size()];
+        this.lastY = new double[renderables.size()];
+    }
+
+    /**
+     * Publishes the back buffer to the reader, called by the simulation thread after writing
+     * @param tick number of ticks simulated so far
+     * @param gameStatus status of the game
+     */
+    public void publish(long tick, String gameStatus) {
+        snapshots[back].stamp(tick, gameStatus);
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Gets the latest published snapshot, which stays unchanged until the next call.
+     * Must only be called by a single reader thread.
+     * @return latest snapshot, or null if none has been published
+     */
+    public WorldSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        WorldSnapshot snapshot = snapshots[front];
+        return snapshot.getGameStatus() != null ? snapshot : null;
+    }
+
+    public SpriteTable getSpriteTable() {
+        return spriteTable;
+    }
+}
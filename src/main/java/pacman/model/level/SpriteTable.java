@@ -0,0 +1,54 @@
+package pacman.model.level;
+
+import javafx.scene.image.Image;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Assigns a stable integer id to every image used by the renderables, so snapshots can refer
+ * to sprites without holding image references. Id 0 is reserved for renderables without an image.
+ * Ids are only assigned by the simulation thread, but can be resolved from any thread.
+ */
+public class SpriteTable {
+
+    public static final int NO_SPRITE = 0;
+    private final Map<Image, Integer> spriteIds;
+    private final List<Image> images;
+
+    public SpriteTable() {
+        this.spriteIds = new IdentityHashMap<>();
+        this.images = new CopyOnWriteArrayList<>();
+        this.images.add(null);
+    }
+
+    /**
+     * Gets the id of the image, assigning a new one on first use
+     * @param image image of a renderable
+     * @return sprite id of the image
+     */
+    int getSpriteId(Image image) {
+        if (image == null) {
+            return NO_SPRITE;
+        }
+
+        Integer spriteId = spriteIds.get(image);
+        if (spriteId == null) {
+            spriteId = images.size();
+            images.add(image);
+            spriteIds.put(image, spriteId);
+        }
+        return spriteId;
+    }
+
+    /**
+     * Gets the image of a sprite id
+     * @param spriteId sprite id from a snapshot
+     * @return image of the sprite, or null for NO_SPRITE
+     */
+    public Image getImage(int spriteId) {
+        return images.get(spriteId);
+    }
+}
@@ -0,0 +1,201 @@
+package pacman.model.level;
+
+import javafx.scene.image.Image;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.DynamicEntity;
+import pacman.model.maze.MazeCreator;
+
+import java.util.List;
+
+/**
+ * Compact copy of the visible state of a level at the end of a tick, stored as parallel arrays.
+ * Entity ids are indices into the renderables of the level, and sprites are ids into a SpriteTable.
+ * The positions of the previous tick are kept alongside the current ones,
+ * so that a renderer can interpolate between ticks.
+ * Snapshots are recycled by a SnapshotBuffer, so a reader must not hold on to one after its next acquire.
+ */
+public class WorldSnapshot {
+
+    private static final Renderable.Layer[] LAYERS = Renderable.Layer.values();
+    // Moves further than a tile in one tick are teleports, such as a reset after losing a life
+    private static final double MAX_INTERPOLATION_DISTANCE = MazeCreator.RESIZING_FACTOR;
+    private final SpriteTable spriteTable;
+    private List<Renderable> renderables;
+    private int size;
+    private int[] ids;
+    private double[] x;
+    private double[] y;
+    private double[] previousX;
+    private double[] previousY;
+    private int[] spriteIds;
+    private byte[] layers;
+    private int score;
+    private int numLives;
+    private long tick;
+    private long publishedNanos;
+    private String gameStatus;
+
+    WorldSnapshot(SpriteTable spriteTable) {
+        this.spriteTable = spriteTable;
+        allocate(0);
+    }
+
+    private void allocate(int capacity) {
+        this.ids = new int[capacity];
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.previousX = new double[capacity];
+        this.previousY = new double[capacity];
+        this.spriteIds = new int[capacity];
+        this.layers = new byte[capacity];
+    }
+
+    /**
+     * Copies the state of the renderables into the snapshot. Every entry is written the first time
+     * the snapshot sees the renderables, after which only the entries that can change are rewritten.
+     * @param renderables renderables of the level
+     * @param changingIndices indices of the renderables that can change between ticks
+     * @param numChangingIndices number of indices in changingIndices
+     * @param changingDynamicEntities dynamic entity at each changing index, or null if it is not dynamic
+     * @param lastX x coordinates of the renderables at the previous tick, or null to disable interpolation
+     * @param lastY y coordinates of the renderables at the previous tick, or null to disable interpolation
+     */
+    void write(List<Renderable> renderables, int[] changingIndices, int numChangingIndices,
+               DynamicEntity[] changingDynamicEntities, double[] lastX, double[] lastY, int score, int numLives) {
+        int size = renderables.size();
+        if (renderables != this.renderables || size != this.size) {
+            if (ids.length < size) {
+                allocate(size);
+            }
+            this.renderables = renderables;
+            this.size = size;
+            for (int i = 0; i < size; i++) {
+                Renderable renderable = renderables.get(i);
+                writeEntry(i, renderable, renderable instanceof DynamicEntity ? (DynamicEntity) renderable : null);
+                previousX[i] = x[i];
+                previousY[i] = y[i];
+            }
+        }
+        this.score = score;
+        this.numLives = numLives;
+
+        for (int k = 0; k < numChangingIndices; k++) {
+            int i = changingIndices[k];
+            writeEntry(i, renderables.get(i), changingDynamicEntities[k]);
+            previousX[i] = lastX != null ? lastX[i] : x[i];
+            previousY[i] = lastY != null ? lastY[i] : y[i];
+        }
+    }
+
+    private void writeEntry(int index, Renderable renderable, DynamicEntity dynamicEntity) {
+        ids[index] = index;
+        // Read without going through getPosition, which allocates a vector per call
+        if (dynamicEntity != null) {
+            x[index] = dynamicEntity.getX();
+            y[index] = dynamicEntity.getY();
+        } else {
+            x[index] = renderable.getBoundingBox().getLeftX();
+            y[index] = renderable.getBoundingBox().getTopY();
+        }
+        spriteIds[index] = spriteTable.getSpriteId(renderable.getImage());
+        layers[index] = (byte) renderable.getLayer().ordinal();
+    }
+
+    void stamp(long tick, String gameStatus) {
+        this.tick = tick;
+        this.gameStatus = gameStatus;
+        this.publishedNanos = System.nanoTime();
+    }
+
+    void copyPositions(int[] indices, int numIndices, double[] targetX, double[] targetY) {
+        for (int k = 0; k < numIndices; k++) {
+            int i = indices[k];
+            targetX[i] = x[i];
+            targetY[i] = y[i];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Gets the renderable of an entry, for renderers running in the same process as the level
+     * @param index index of the entry
+     * @return renderable of the entry
+     */
+    public Renderable getRenderable(int index) {
+        return renderables.get(ids[index]);
+    }
+
+    public List<Renderable> getRenderables() {
+        return renderables;
+    }
+
+    public int getSpriteId(int index) {
+        return spriteIds[index];
+    }
+
+    public Image getImage(int index) {
+        return spriteTable.getImage(spriteIds[index]);
+    }
+
+    public Renderable.Layer getLayer(int index) {
+        return LAYERS[layers[index]];
+    }
+
+    /**
+     * Gets the x coordinate of the entry between the previous and current tick
+     * @param index index of the entry
+     * @param alpha fraction of a tick since the previous tick, from 0 to 1
+     * @return interpolated x coordinate
+     */
+    public double getX(int index, double alpha) {
+        return interpolate(previousX[index], x[index], alpha);
+    }
+
+    /**
+     * Gets the y coordinate of the entry between the previous and current tick
+     * @param index index of the entry
+     * @param alpha fraction of a tick since the previous tick, from 0 to 1
+     * @return interpolated y coordinate
+     */
+    public double getY(int index, double alpha) {
+        return interpolate(previousY[index], y[index], alpha);
+    }
+
+    private static double interpolate(double previous, double current, double alpha) {
+        if (Math.abs(current - previous) > MAX_INTERPOLATION_DISTANCE) {
+            return current;
+        }
+        return previous + (current - previous) * alpha;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getNumLives() {
+        return numLives;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the time the snapshot was published, see System.nanoTime
+     * @return publish time in nanoseconds
+     */
+    public long getPublishedNanos() {
+        return publishedNanos;
+    }
+
+    public String getGameStatus() {
+        return gameStatus;
+    }
+}
@@ -0,0 +1,319 @@
+package pacman.model.maze;
+
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.physics.BoundingBox;
+import pacman.model.entity.dynamic.physics.EntityStore;
+import pacman.model.entity.staticentity.StaticEntity;
+import pacman.model.entity.staticentity.collectable.Collectable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Static entities of a large maze, divided into chunks of CHUNK_SIZE by CHUNK_SIZE tiles that are
+ * materialised from the maze layout only when needed.
+ * Chunks around the dynamic entities are kept materialised, any other chunk is materialised on first query,
+ * and chunks that have not been near a dynamic entity for EVICT_AFTER_TICKS are evicted.
+ * Which pellets have been collected is kept as a bitset over the pellets in spawn order, so evicting a chunk
+ * loses no state, and memory and tick cost follow the area around the dynamic entities rather than the size of the maze.
+ */
+public class ChunkedWorld implements StaticEntityIndex, PelletIndex {
+
+    public static final int CHUNK_SIZE = 16;
+    private static final int ACTIVE_RADIUS = 1;
+    private static final int EVICT_AFTER_TICKS = 100;
+    private final MazeLayout layout;
+    private final StaticEntityFactory staticEntityFactory;
+    private final int width;
+    private final int height;
+    private final int chunksX;
+    private final int chunksY;
+    private final Chunk[] chunks;
+    private final List<Chunk> materialisedChunks;
+    private final int[] pelletTiles;
+    private final long[] collected;
+    private int numRemaining;
+    private long tickCount;
+
+    /**
+     * Creates a world with no chunks materialised
+     * @param layout layout the chunks are materialised from
+     * @param staticEntityFactory factory creating the static entity of a tile
+     */
+    public ChunkedWorld(MazeLayout layout, StaticEntityFactory staticEntityFactory) {
+        this.layout = layout;
+        this.staticEntityFactory = staticEntityFactory;
+        this.width = layout.getWidth();
+        this.height = layout.getHeight();
+        this.chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunksY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new Chunk[chunksX * chunksY];
+        this.materialisedChunks = new ArrayList<>();
+
+        // Spawns are in row-major order, so the pellet tiles are sorted and a pellet is found by binary search
+        int numPellets = 0;
+        for (int i = 0; i < layout.getNumSpawns(); i++) {
+            if (layout.getTile(layout.getSpawn(i)) == RenderableType.PELLET) {
+                numPellets++;
+            }
+        }
+        this.pelletTiles = new int[numPellets];
+        int pellet = 0;
+        for (int i = 0; i < layout.getNumSpawns(); i++) {
+            if (layout.getTile(layout.getSpawn(i)) == RenderableType.PELLET) {
+                pelletTiles[pellet++] = layout.getSpawn(i);
+            }
+        }
+        this.collected = new long[(numPellets + Long.SIZE - 1) / Long.SIZE];
+        this.numRemaining = numPellets;
+    }
+
+    /**
+     * Keeps the chunks around every dynamic entity materialised, and evicts the chunks that have been idle
+     * for too long
+     * @param entityStore store of the dynamic entities of the maze
+     */
+    public void updateActiveRegion(EntityStore entityStore) {
+        tickCount++;
+
+        for (int slot = 0; slot < entityStore.size(); slot++) {
+            int chunkX = toChunk(entityStore.getX(slot) + entityStore.getWidth(slot) / 2);
+            int chunkY = toChunk(entityStore.getY(slot) + entityStore.getHeight(slot) / 2);
+            for (int y = chunkY - ACTIVE_RADIUS; y <= chunkY + ACTIVE_RADIUS; y++) {
+                for (int x = chunkX - ACTIVE_RADIUS; x <= chunkX + ACTIVE_RADIUS; x++) {
+                    if (x >= 0 && x < chunksX && y >= 0 && y < chunksY) {
+                        getChunk(x, y).lastActiveTick = tickCount;
+                    }
+                }
+            }
+        }
+
+        // Swap-remove, so eviction allocates nothing
+        for (int i = materialisedChunks.size() - 1; i >= 0; i--) {
+            Chunk chunk = materialisedChunks.get(i);
+            if (tickCount - chunk.lastActiveTick > EVICT_AFTER_TICKS) {
+                chunks[chunk.index] = null;
+                Chunk last = materialisedChunks.remove(materialisedChunks.size() - 1);
+                if (last != chunk) {
+                    materialisedChunks.set(i, last);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts every chunk and marks every pellet as not collected
+     */
+    public void reset() {
+        Arrays.fill(chunks, null);
+        materialisedChunks.clear();
+        Arrays.fill(collected, 0);
+        numRemaining = pelletTiles.length;
+    }
+
+    /**
+     * @return number of chunks currently materialised
+     */
+    public int getNumMaterialisedChunks() {
+        return materialisedChunks.size();
+    }
+
+    @Override
+    public void getNearbyEntities(double leftX, double topY, double boxWidth, double boxHeight,
+                                  List<StaticEntity> result) {
+        result.clear();
+
+        int minX = Math.max(toTile(leftX), 0);
+        int maxX = Math.min(toTile(leftX + boxWidth), width - 1);
+        int minY = Math.max(toTile(topY), 0);
+        int maxY = Math.min(toTile(topY + boxHeight), height - 1);
+
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                StaticEntity staticEntity = getEntity(x, y);
+                if (staticEntity != null) {
+                    result.add(staticEntity);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Collectable getCollectableAt(double x, double y) {
+        int xTile = toTile(x);
+        int yTile = toTile(y);
+        if (!isInBounds(xTile, yTile) || layout.getTile(xTile, yTile) != RenderableType.PELLET) {
+            return null;
+        }
+
+        StaticEntity staticEntity = getEntity(xTile, yTile);
+        return staticEntity instanceof Collectable collectable ? collectable : null;
+    }
+
+    // Pellets of evicted chunks are no longer part of the world
+    @Override
+    public boolean contains(Renderable renderable) {
+        BoundingBox boundingBox = renderable.getBoundingBox();
+        int xTile = toTile(boundingBox.getLeftX());
+        int yTile = toTile(boundingBox.getTopY());
+        if (!isInBounds(xTile, yTile) || layout.getTile(xTile, yTile) != RenderableType.PELLET) {
+            return false;
+        }
+
+        Chunk chunk = chunks[(yTile / CHUNK_SIZE) * chunksX + xTile / CHUNK_SIZE];
+        return chunk != null && chunk.entities[getLocalIndex(xTile, yTile)] == renderable;
+    }
+
+    @Override
+    public void markCollected(Collectable collectable) {
+        if (contains(collectable)) {
+            BoundingBox boundingBox = collectable.getBoundingBox();
+            int pellet = getPellet(toTile(boundingBox.getTopY()) * width + toTile(boundingBox.getLeftX()));
+            if (!isCollected(pellet)) {
+                collected[pellet >>> 6] |= 1L << pellet;
+                numRemaining--;
+            }
+        }
+    }
+
+    @Override
+    public int getNumRemaining() {
+        return numRemaining;
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(pelletTiles.length);
+        for (long word : collected) {
+            buffer.putLong(word);
+        }
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        checkState(buffer, buffer.position());
+        buffer.getInt();
+
+        int numCollected = 0;
+        for (int i = 0; i < collected.length; i++) {
+            long word = buffer.getLong();
+            numCollected += Long.bitCount(word);
+
+            // Only the pellets that changed, and exist in a materialised chunk, are updated
+            long changed = word ^ collected[i];
+            collected[i] = word;
+            while (changed != 0) {
+                int pellet = i * Long.SIZE + Long.numberOfTrailingZeros(changed);
+                changed &= changed - 1;
+                updateCollectable(pellet);
+            }
+        }
+        numRemaining = pelletTiles.length - numCollected;
+    }
+
+    @Override
+    public void checkState(ByteBuffer buffer, int index) {
+        if (buffer.limit() - index < Integer.BYTES + (long) collected.length * Long.BYTES) {
+            throw new IllegalArgumentException("State is truncated");
+        }
+        if (buffer.getInt(index) != pelletTiles.length) {
+            throw new IllegalArgumentException("State was not written for a maze with these pellets");
+        }
+    }
+
+    private void updateCollectable(int pellet) {
+        int xTile = pelletTiles[pellet] % width;
+        int yTile = pelletTiles[pellet] / width;
+        Chunk chunk = chunks[(yTile / CHUNK_SIZE) * chunksX + xTile / CHUNK_SIZE];
+        if (chunk != null && chunk.entities[getLocalIndex(xTile, yTile)] instanceof Collectable collectable) {
+            if (isCollected(pellet)) {
+                collectable.collect();
+            } else {
+                collectable.reset();
+            }
+        }
+    }
+
+    private StaticEntity getEntity(int xTile, int yTile) {
+        return getChunk(xTile / CHUNK_SIZE, yTile / CHUNK_SIZE).entities[getLocalIndex(xTile, yTile)];
+    }
+
+    private Chunk getChunk(int chunkX, int chunkY) {
+        int index = chunkY * chunksX + chunkX;
+        Chunk chunk = chunks[index];
+        if (chunk == null) {
+            chunk = materialise(chunkX, chunkY);
+            chunks[index] = chunk;
+            materialisedChunks.add(chunk);
+        }
+        return chunk;
+    }
+
+    private Chunk materialise(int chunkX, int chunkY) {
+        Chunk chunk = new Chunk(chunkY * chunksX + chunkX);
+        chunk.lastActiveTick = tickCount;
+
+        int maxX = Math.min((chunkX + 1) * CHUNK_SIZE, width);
+        int maxY = Math.min((chunkY + 1) * CHUNK_SIZE, height);
+        for (int y = chunkY * CHUNK_SIZE; y < maxY; y++) {
+            for (int x = chunkX * CHUNK_SIZE; x < maxX; x++) {
+                char renderableType = layout.getTile(x, y);
+                // Dynamic entities are held by the maze itself
+                if (renderableType == RenderableType.EMPTY || renderableType == RenderableType.PACMAN ||
+                        renderableType == RenderableType.GHOST) {
+                    continue;
+                }
+
+                StaticEntity staticEntity = staticEntityFactory.createStaticEntity(renderableType,
+                        x * MazeCreator.RESIZING_FACTOR, y * MazeCreator.RESIZING_FACTOR);
+                if (staticEntity instanceof Collectable collectable && renderableType == RenderableType.PELLET &&
+                        isCollected(getPellet(y * width + x))) {
+                    collectable.collect();
+                }
+                chunk.entities[getLocalIndex(x, y)] = staticEntity;
+            }
+        }
+        return chunk;
+    }
+
+    private boolean isCollected(int pellet) {
+        return (collected[pellet >>> 6] & (1L << pellet)) != 0;
+    }
+
+    // Only called for pellet tiles, which are always found
+    private int getPellet(int tileIndex) {
+        return Arrays.binarySearch(pelletTiles, tileIndex);
+    }
+
+    private boolean isInBounds(int xTile, int yTile) {
+        return xTile >= 0 && xTile < width && yTile >= 0 && yTile < height;
+    }
+
+    private static int getLocalIndex(int xTile, int yTile) {
+        return (yTile % CHUNK_SIZE) * CHUNK_SIZE + xTile % CHUNK_SIZE;
+    }
+
+    private static int toTile(double coordinate) {
+        return (int) Math.floor(coordinate / MazeCreator.RESIZING_FACTOR);
+    }
+
+    private static int toChunk(double coordinate) {
+        return Math.floorDiv(toTile(coordinate), CHUNK_SIZE);
+    }
+
+    /**
+     * Static entities of a materialised chunk, indexed by tile within the chunk
+     */
+    private static class Chunk {
+        private final int index;
+        private final StaticEntity[] entities;
+        private long lastActiveTick;
+
+        private Chunk(int index) {
+            this.index = index;
+            this.entities = new StaticEntity[CHUNK_SIZE * CHUNK_SIZE];
+        }
+    }
+}
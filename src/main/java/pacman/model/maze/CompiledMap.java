@@ -0,0 +1,110 @@
+package pacman.model.maze;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compiled binary form of a map file, loaded by memory-mapping the file.
+ * The file holds a header of magic, version, width, height and number of spawns as big-endian ints,
+ * followed by the spawn list, the tile grid and the wall map cells, so a loaded MazeLayout
+ * reads its tiles and walls straight from the mapping rather than copying them onto the heap.
+ */
+public final class CompiledMap {
+
+    public static final String EXTENSION = ".pmap";
+    private static final int MAGIC = 0x504D4150; // "PMAP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    private CompiledMap() {
+    }
+
+    /**
+     * Writes the layout in the compiled format
+     * @param layout layout to be compiled
+     * @param out stream to write to, which is flushed but not closed
+     * @throws IOException if the stream cannot be written
+     */
+    public static void write(MazeLayout layout, OutputStream out) throws IOException {
+        int numTiles = layout.getWidth() * layout.getHeight();
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(layout.getWidth());
+        data.writeInt(layout.getHeight());
+        data.writeInt(layout.getNumSpawns());
+
+        for (int i = 0; i < layout.getNumSpawns(); i++) {
+            data.writeInt(layout.getSpawn(i));
+        }
+        for (int i = 0; i < numTiles; i++) {
+            data.writeByte(layout.getTile(i));
+        }
+        WallMap wallMap = layout.getWallMap();
+        for (int i = 0; i < numTiles; i++) {
+            data.writeByte(wallMap.getCell(i));
+        }
+        data.flush();
+    }
+
+    /**
+     * Maps a compiled map file into memory
+     * @param path path of the compiled map file
+     * @return layout backed by the mapped file
+     */
+    public static MazeLayout load(Path path) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new RuntimeException("Compiled map is too large: " + path);
+            }
+            // The mapping stays valid once the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading the compiled map: " + e.getMessage(), e);
+        }
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new RuntimeException("Not a compiled map: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new RuntimeException("Unsupported compiled map version " + buffer.getInt(4) + ": " + path);
+        }
+
+        int width = buffer.getInt(8);
+        int height = buffer.getInt(12);
+        int numSpawns = buffer.getInt(16);
+        long numTiles = (long) width * height;
+        if (width <= 0 || height <= 0 || numSpawns < 0 || numSpawns > numTiles ||
+                buffer.limit() != HEADER_SIZE + (long) numSpawns * Integer.BYTES + 2 * numTiles) {
+            throw new RuntimeException("Compiled map is corrupt: " + path);
+        }
+
+        int spawnsOffset = HEADER_SIZE;
+        int tilesOffset = spawnsOffset + numSpawns * Integer.BYTES;
+        int cellsOffset = tilesOffset + (int) numTiles;
+        IntBuffer spawns = buffer.slice(spawnsOffset, numSpawns * Integer.BYTES).asIntBuffer();
+        ByteBuffer tiles = buffer.slice(tilesOffset, (int) numTiles);
+        ByteBuffer cells = buffer.slice(cellsOffset, (int) numTiles);
+
+        // Spawns index the tiles directly, so they are checked here rather than failing when a maze is created
+        int previousSpawn = -1;
+        for (int i = 0; i < numSpawns; i++) {
+            int spawn = spawns.get(i);
+            if (spawn <= previousSpawn || spawn >= numTiles || tiles.get(spawn) == RenderableType.EMPTY) {
+                throw new RuntimeException("Compiled map is corrupt: " + path);
+            }
+            previousSpawn = spawn;
+        }
+
+        return new MazeLayout(width, height, tiles, spawns, new WallMap(width, height, cells));
+    }
+}
@@ -0,0 +1,136 @@
+package pacman.model.maze;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first search distances, in tiles, from every walkable tile of a maze to a target tile.
+ * Tiles that are walls, or cannot reach the target, are UNREACHABLE.
+ * A target outside of the maze, or inside a wall, is replaced by the nearest walkable tile.
+ * The search can be limited to a window around the target, so that the cost of a field on a huge maze
+ * does not depend on the size of the maze; tiles outside of the window are UNREACHABLE.
+ */
+public class DistanceField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+    private final int originX;
+    private final int originY;
+    private final int width;
+    private final int height;
+    private final int[] distances;
+    private int targetX;
+    private int targetY;
+
+    /**
+     * Computes the distances to the target tile from every tile of the maze
+     * @param wallMap walls of the maze
+     * @param targetX x index of target tile
+     * @param targetY y index of target tile
+     */
+    public DistanceField(WallMap wallMap, int targetX, int targetY) {
+        this(wallMap, targetX, targetY, UNBOUNDED);
+    }
+
+    /**
+     * Computes the distances to the target tile from the tiles within the radius of it
+     * @param wallMap walls of the maze
+     * @param targetX x index of target tile
+     * @param targetY y index of target tile
+     * @param radius greatest distance along either axis of a tile from the target, or UNBOUNDED
+     */
+    public DistanceField(WallMap wallMap, int targetX, int targetY, int radius) {
+        int clampedX = Math.max(0, Math.min(targetX, wallMap.getWidth() - 1));
+        int clampedY = Math.max(0, Math.min(targetY, wallMap.getHeight() - 1));
+        this.originX = (int) Math.max(0, (long) clampedX - radius);
+        this.originY = (int) Math.max(0, (long) clampedY - radius);
+        this.width = (int) Math.min(wallMap.getWidth(), (long) clampedX + radius + 1) - originX;
+        this.height = (int) Math.min(wallMap.getHeight(), (long) clampedY + radius + 1) - originY;
+        this.distances = new int[width * height];
+        Arrays.fill(distances, UNREACHABLE);
+
+        if (findNearestWalkableTile(wallMap, targetX, targetY)) {
+            search(wallMap);
+        }
+    }
+
+    private boolean findNearestWalkableTile(WallMap wallMap, int x, int y) {
+        long minDistance = Long.MAX_VALUE;
+        for (int tileY = originY; tileY < originY + height; tileY++) {
+            for (int tileX = originX; tileX < originX + width; tileX++) {
+                if (!wallMap.isWall(tileX, tileY)) {
+                    long dx = tileX - x;
+                    long dy = tileY - y;
+                    long distance = dx * dx + dy * dy;
+                    if (distance < minDistance) {
+                        minDistance = distance;
+                        this.targetX = tileX;
+                        this.targetY = tileY;
+                        if (distance == 0) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return minDistance != Long.MAX_VALUE;
+    }
+
+    // Indices in the queue and distances are relative to the window
+    private void search(WallMap wallMap) {
+        int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+
+        int targetIndex = (this.targetY - originY) * width + (this.targetX - originX);
+        distances[targetIndex] = 0;
+        queue[tail++] = targetIndex;
+
+        while (head < tail) {
+            int index = queue[head++];
+            int x = index % width;
+            int y = index / width;
+            int nextDistance = distances[index] + 1;
+
+            tail = visit(wallMap, x, y - 1, nextDistance, queue, tail);
+            tail = visit(wallMap, x, y + 1, nextDistance, queue, tail);
+            tail = visit(wallMap, x - 1, y, nextDistance, queue, tail);
+            tail = visit(wallMap, x + 1, y, nextDistance, queue, tail);
+        }
+    }
+
+    private int visit(WallMap wallMap, int x, int y, int distance, int[] queue, int tail) {
+        if (x < 0 || x >= width || y < 0 || y >= height || wallMap.isWall(originX + x, originY + y)) {
+            return tail;
+        }
+        int index = y * width + x;
+        if (distances[index] != UNREACHABLE) {
+            return tail;
+        }
+        distances[index] = distance;
+        queue[tail] = index;
+        return tail + 1;
+    }
+
+    /**
+     * Gets the distance from the tile to the target
+     * @param x x index of tile
+     * @param y y index of tile
+     * @return distance in tiles, or UNREACHABLE
+     */
+    public int getDistance(int x, int y) {
+        int windowX = x - originX;
+        int windowY = y - originY;
+        if (windowX < 0 || windowX >= width || windowY < 0 || windowY >= height) {
+            return UNREACHABLE;
+        }
+        return distances[windowY * width + windowX];
+    }
+
+    public int getTargetX() {
+        return targetX;
+    }
+
+    public int getTargetY() {
+        return targetY;
+    }
+}
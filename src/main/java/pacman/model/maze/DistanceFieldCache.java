@@ -0,0 +1,85 @@
+package pacman.model.maze;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the distance fields of a wall map, keyed by target tile.
+ * Fields for fixed targets, such as ghost scatter corners, are pinned for the life of the cache.
+ * Other fields, such as those towards Pac-Man's current tile, are computed lazily on first use and
+ * dropped once too many are held. The cache is safe to share between engines running concurrently.
+ * On mazes large enough to be chunked, fields only cover FIELD_RADIUS tiles around their target,
+ * beyond which ghosts fall back to heading straight for their target.
+ */
+public class DistanceFieldCache {
+
+    private static final int MAX_LAZY_FIELDS = 4096;
+    private static final int MAX_LAZY_TILES = 1 << 22;
+    private static final int FIELD_RADIUS = 64;
+    private final WallMap wallMap;
+    private final Map<Integer, DistanceField> pinnedFields;
+    private final Map<Integer, DistanceField> lazyFields;
+    private final int fieldRadius;
+    private final int maxLazyFields;
+
+    public DistanceFieldCache(WallMap wallMap) {
+        this.wallMap = wallMap;
+        this.pinnedFields = new ConcurrentHashMap<>();
+        this.lazyFields = new ConcurrentHashMap<>();
+
+        // Bound the tiles held by the lazy fields, as well as their number
+        long numTiles = (long) wallMap.getWidth() * wallMap.getHeight();
+        long fieldTiles = numTiles;
+        if (numTiles >= MazeCreator.CHUNKED_MIN_TILES) {
+            this.fieldRadius = FIELD_RADIUS;
+            fieldTiles = Math.min(numTiles, (2L * FIELD_RADIUS + 1) * (2L * FIELD_RADIUS + 1));
+        } else {
+            this.fieldRadius = DistanceField.UNBOUNDED;
+        }
+        this.maxLazyFields = (int) Math.max(1, Math.min(MAX_LAZY_FIELDS, MAX_LAZY_TILES / Math.max(fieldTiles, 1)));
+    }
+
+    /**
+     * Computes and pins the distance field towards a fixed target
+     * @param targetX x index of target tile
+     * @param targetY y index of target tile
+     * @return distance field towards the target
+     */
+    public DistanceField pin(int targetX, int targetY) {
+        return pinnedFields.computeIfAbsent(getKey(targetX, targetY), this::createDistanceField);
+    }
+
+    /**
+     * Gets the distance field towards the target, computing it if it is not cached
+     * @param targetX x index of target tile
+     * @param targetY y index of target tile
+     * @return distance field towards the target
+     */
+    public DistanceField getDistanceField(int targetX, int targetY) {
+        int key = getKey(targetX, targetY);
+        DistanceField pinnedField = pinnedFields.get(key);
+        if (pinnedField != null) {
+            return pinnedField;
+        }
+
+        DistanceField lazyField = lazyFields.get(key);
+        if (lazyField == null) {
+            if (lazyFields.size() >= maxLazyFields) {
+                lazyFields.clear();
+            }
+            lazyField = lazyFields.computeIfAbsent(key, this::createDistanceField);
+        }
+        return lazyField;
+    }
+
+    private DistanceField createDistanceField(int key) {
+        return new DistanceField(wallMap, key % wallMap.getWidth(), key / wallMap.getWidth(), fieldRadius);
+    }
+
+    // Targets outside of the maze share the field of the closest edge tile
+    private int getKey(int targetX, int targetY) {
+        int x = Math.max(0, Math.min(targetX, wallMap.getWidth() - 1));
+        int y = Math.max(0, Math.min(targetY, wallMap.getHeight() - 1));
+        return y * wallMap.getWidth() + x;
+    }
+}
@@ -0,0 +1,14 @@
+package pacman.model.maze;
+
+import javafx.scene.image.Image;
+
+/**
+ * Image loader for headless simulation - loads no images, so no display toolkit is required
+ */
+public class HeadlessImageLoader implements ImageLoader {
+
+    @Override
+    public Image loadImage(String resourcePath) {
+        return null;
+    }
+}
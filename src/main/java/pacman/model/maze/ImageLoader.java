@@ -0,0 +1,16 @@
+package pacman.model.maze;
+
+import javafx.scene.image.Image;
+
+/**
+ * Loads the images of the entities created by the MazeCreator
+ */
+public interface ImageLoader {
+
+    /**
+     * Loads the image at the given resource path
+     * @param resourcePath path of image resource
+     * @return the loaded image
+     */
+    Image loadImage(String resourcePath);
+}
@@ -3,6 +3,8 @@ package pacman.model.maze;
 import pacman.model.entity.dynamic.DynamicEntity;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.EntityStore;
+import pacman.model.entity.staticentity.StaticEntity;
 
 import java.util.*;
 
@@ -13,14 +15,34 @@ public class Maze {
     private Renderable pacman;
     private final List<Renderable> ghosts;
     private final List<Renderable> pellets;
-    private final Map<String, Boolean> isWall;
+    private final WallMap wallMap;
+    private final DistanceFieldCache distanceFieldCache;
+    private final EntityStore entityStore;
+    private final ChunkedWorld chunkedWorld;
     private int numLives;
+    private SpatialGrid spatialGrid;
+    private PelletGrid pelletGrid;
 
-    public Maze() {
+    public Maze(WallMap wallMap) {
+        this(wallMap, new DistanceFieldCache(wallMap));
+    }
+
+    public Maze(WallMap wallMap, DistanceFieldCache distanceFieldCache) {
+        this(wallMap, distanceFieldCache, null);
+    }
+
+    /**
+     * @param chunkedWorld world materialising the static entities of the maze on demand, in which case
+     *                     only dynamic entities are added to the maze, or null if every entity is added
+     */
+    public Maze(WallMap wallMap, DistanceFieldCache distanceFieldCache, ChunkedWorld chunkedWorld) {
         this.renderables = new ArrayList<>();
         this.ghosts = new ArrayList<>();
         this.pellets = new ArrayList<>();
-        this.isWall = new HashMap<>();
+        this.wallMap = wallMap;
+        this.distanceFieldCache = distanceFieldCache;
+        this.entityStore = new EntityStore();
+        this.chunkedWorld = chunkedWorld;
     }
 
     public void addRenderable(Renderable renderable, char renderableType, int x, int y) {
@@ -31,18 +53,14 @@ public class Maze {
                 this.ghosts.add(renderable);
             } else if (renderableType == RenderableType.PELLET){
                 this.pellets.add(renderable);
-            } else {
-                this.isWall.put(formatCoordinates(x, y), true);
             }
 
             this.renderables.add(renderable);
+            this.spatialGrid = null;
+            this.pelletGrid = null;
         }
     }
 
-    private static String formatCoordinates(int x, int y){
-        return String.format("(%d, %d)", x, y);
-    }
-
     public List<Renderable> getRenderables() {
         return renderables;
     }
@@ -59,52 +77,124 @@ public class Maze {
         return pellets;
     }
 
+    public WallMap getWallMap() {
+        return wallMap;
+    }
+
+    public DistanceFieldCache getDistanceFieldCache() {
+        return distanceFieldCache;
+    }
+
+    /**
+     * Gets the store holding the physics state of the dynamic entities of the maze.
+     * Slots are allocated in the order the dynamic entities are added to the maze.
+     * @return entity store of the maze
+     */
+    public EntityStore getEntityStore() {
+        return entityStore;
+    }
+
+    /**
+     * @return world materialising the static entities of the maze, or null if they are all held by the maze
+     */
+    public ChunkedWorld getChunkedWorld() {
+        return chunkedWorld;
+    }
+
+    /**
+     * Gets the index of the static entities in the maze, used as the broad-phase for collision checks
+     * @return the chunked world, or else the spatial grid of the static entities of the maze
+     */
+    public StaticEntityIndex getStaticEntityIndex() {
+        if (chunkedWorld != null) {
+            return chunkedWorld;
+        }
+        return getSpatialGrid();
+    }
+
+    /**
+     * Gets the index of the collectables in the maze
+     * @return the chunked world, or else the pellet grid of the pellets of the maze
+     */
+    public PelletIndex getPelletIndex() {
+        if (chunkedWorld != null) {
+            return chunkedWorld;
+        }
+        if (pelletGrid == null) {
+            pelletGrid = new PelletGrid(wallMap.getWidth(), wallMap.getHeight(), pellets);
+        }
+        return pelletGrid;
+    }
+
+    /**
+     * Keeps the static entities around the dynamic entities materialised, if the maze is chunked
+     */
+    public void updateActiveRegion() {
+        if (chunkedWorld != null) {
+            chunkedWorld.updateActiveRegion(entityStore);
+        }
+    }
+
+    /**
+     * Gets the spatial grid of the static entities in the maze, built once on first use
+     * @return spatial grid of static entities
+     */
+    public SpatialGrid getSpatialGrid() {
+        if (spatialGrid == null) {
+            spatialGrid = new SpatialGrid(wallMap.getWidth(), wallMap.getHeight());
+            for (Renderable renderable : renderables) {
+                if (renderable instanceof StaticEntity) {
+                    spatialGrid.add((StaticEntity) renderable);
+                }
+            }
+        }
+        return spatialGrid;
+    }
+
     private int getCenterOfTile(int index){
         return index * MazeCreator.RESIZING_FACTOR + MazeCreator.RESIZING_FACTOR/2;
     }
 
     //Updates the possible directions of the dynamic entity based on the maze configuration
     public void updatePossibleDirections(DynamicEntity dynamicEntity){
-        int xTile = (int) Math.floor(dynamicEntity.getCenter().getX()/MazeCreator.RESIZING_FACTOR);
-        int yTile = (int) Math.floor(dynamicEntity.getCenter().getY()/MazeCreator.RESIZING_FACTOR);
-
-        Set<Direction> possibleDirections = new HashSet<>();
-
-        // calculates whether entity is in a position where it is able to turn
-        if (Math.abs(getCenterOfTile(xTile) - dynamicEntity.getCenter().getX()) < MAX_CENTER_DISTANCE &&
-                Math.abs(getCenterOfTile(yTile) - dynamicEntity.getCenter().getY()) < MAX_CENTER_DISTANCE){
+        double centerX = dynamicEntity.getBoundingBox().getMiddleX();
+        double centerY = dynamicEntity.getBoundingBox().getMiddleY();
+        dynamicEntity.setPossibleDirections(getPossibleDirections(centerX, centerY, dynamicEntity.getDirection()));
+    }
 
-            String aboveCoordinates = formatCoordinates(xTile, yTile - 1);
-            if (isWall.get(aboveCoordinates) == null){
-                possibleDirections.add(Direction.UP);
-            }
+    /**
+     * Updates the possible directions of every dynamic entity in the entity store of the maze
+     */
+    public void updatePossibleDirections() {
+        for (int slot = 0; slot < entityStore.size(); slot++) {
+            double centerX = entityStore.getLeftX(slot) + entityStore.getWidth(slot) / 2;
+            double centerY = entityStore.getTopY(slot) + entityStore.getHeight(slot) / 2;
+            entityStore.setPossibleDirections(slot,
+                    getPossibleDirections(centerX, centerY, entityStore.getDirection(slot)));
+        }
+    }
 
-            String belowCoordinates = formatCoordinates(xTile, yTile + 1);
-            if (isWall.get(belowCoordinates) == null){
-                possibleDirections.add(Direction.DOWN);
-            }
+    private int getPossibleDirections(double centerX, double centerY, Direction direction) {
+        int xTile = (int) Math.floor(centerX/MazeCreator.RESIZING_FACTOR);
+        int yTile = (int) Math.floor(centerY/MazeCreator.RESIZING_FACTOR);
 
-            String leftCoordinates = formatCoordinates(xTile - 1, yTile);
-            if (isWall.get(leftCoordinates) == null){
-                possibleDirections.add(Direction.LEFT);
-            }
+        int possibleDirections;
 
-            String rightCoordinates = formatCoordinates(xTile + 1, yTile);
-            if (isWall.get(rightCoordinates) == null){
-                possibleDirections.add(Direction.RIGHT);
-            }
+        // calculates whether entity is in a position where it is able to turn
+        if (Math.abs(getCenterOfTile(xTile) - centerX) < MAX_CENTER_DISTANCE &&
+                Math.abs(getCenterOfTile(yTile) - centerY) < MAX_CENTER_DISTANCE){
+            possibleDirections = wallMap.getPossibleDirections(xTile, yTile);
         } else {
-            possibleDirections.add(dynamicEntity.getDirection());
-            possibleDirections.add(dynamicEntity.getDirection().opposite());
+            possibleDirections = direction.getMask() | direction.opposite().getMask();
         }
 
-        dynamicEntity.setPossibleDirections(possibleDirections);
+        return possibleDirections;
     }
 
-    public static boolean isAtIntersection(Set<Direction> possibleDirections) {
-        if (possibleDirections.contains(Direction.LEFT) || possibleDirections.contains(Direction.RIGHT)) {
-            return possibleDirections.contains(Direction.UP) ||
-                    possibleDirections.contains(Direction.DOWN);
+    public static boolean isAtIntersection(int possibleDirections) {
+        if (Direction.LEFT.isIn(possibleDirections) || Direction.RIGHT.isIn(possibleDirections)) {
+            return Direction.UP.isIn(possibleDirections) ||
+                    Direction.DOWN.isIn(possibleDirections);
         }
 
         return false;
@@ -122,5 +212,11 @@ public class Maze {
         for (Renderable renderable : renderables){
             renderable.reset();
         }
+
+        if (chunkedWorld != null) {
+            chunkedWorld.reset();
+        } else if (pelletGrid != null) {
+            pelletGrid.recount();
+        }
     }
 }
@@ -3,18 +3,26 @@ package pacman.model.maze;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.dynamic.ghost.GhostImpl;
 import pacman.model.entity.dynamic.physics.BoundingBoxImpl;
-import pacman.model.entity.dynamic.physics.KinematicStateImpl;
+import pacman.model.entity.dynamic.physics.EntityStore;
 import pacman.model.entity.dynamic.player.PacmanVisual;
 import pacman.model.entity.dynamic.physics.Vector2D;
 import pacman.model.entity.dynamic.player.Pacman;
+import pacman.model.entity.staticentity.StaticEntity;
 import pacman.model.entity.staticentity.WallEntity;
 import pacman.model.entity.staticentity.collectable.Pellet;
 import javafx.scene.image.Image;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 
 
 //Responsible for creating renderables and storing it in the Maze as entities
@@ -23,46 +31,99 @@ public class MazeCreator {
 
     public final String fileName;
     public static final int RESIZING_FACTOR = 16;
+    /**
+     * Mazes with at least this many tiles materialise their static entities in chunks, see ChunkedWorld.
+     * Smaller mazes hold every entity, so the whole maze can be rendered.
+     */
+    public static final int CHUNKED_MIN_TILES = 128 * 128;
+    private final ImageLoader imageLoader;
 
     public MazeCreator(String fileName) {
+        this(fileName, new ResourceImageLoader());
+    }
+
+    public MazeCreator(String fileName, ImageLoader imageLoader) {
         this.fileName = fileName;
+        this.imageLoader = imageLoader;
     }
 
     public Maze createMaze() {
-        InputStream mapFileStream = getClass().getResourceAsStream("/map.txt");
-        if (mapFileStream == null) {
-            throw new RuntimeException("Map file not found! Ensure 'map.txt' is in 'src/main/resources'.");
-        }
-
-        Maze maze = new Maze();
+        return createMaze(readLayout());
+    }
 
-        try (Scanner scanner = new Scanner(mapFileStream)) {
-            int y = 0;
+    /**
+     * Reads the tile layout of the map file, which can be shared between mazes.
+     * Compiled map files are memory-mapped, see CompiledMap; text map files are parsed, falling back to
+     * the map.txt resource when no map file is given.
+     * @return layout of the map file
+     */
+    public MazeLayout readLayout() {
+        if (fileName != null && fileName.endsWith(CompiledMap.EXTENSION)) {
+            System.out.println("Mapping the compiled map file...");
+            return CompiledMap.load(Path.of(fileName));
+        }
 
-            // StringBuilder to store and print the entire map at once
-            StringBuilder mapContent = new StringBuilder();
+        List<String> lines = new ArrayList<>();
 
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(openMapFile(), StandardCharsets.US_ASCII))) {
             System.out.println("Reading the map file...");
 
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                mapContent.append(line).append("\n"); // Add each line to the StringBuilder
-
-                char[] row = line.toCharArray();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            e.printStackTrace(); // Print the full stack trace for debugging
+            throw new RuntimeException("Error while reading the map file: " + e.getMessage(), e);
+        }
 
-                for (int x = 0; x < row.length; x++) {
-                    char currentChar = row[x];
-                    // Use the factory method to create an entity
-                    Renderable entity = createEntity(currentChar, x * RESIZING_FACTOR, y * RESIZING_FACTOR);
-                    maze.addRenderable(entity, currentChar, x, y);
-                }
+        return new MazeLayout(lines);
+    }
 
-                y += 1;
+    // Only a missing map setting falls back to the bundled map, so a mistyped path is reported
+    private InputStream openMapFile() throws IOException {
+        if (fileName != null) {
+            if (!Files.isRegularFile(Path.of(fileName))) {
+                throw new RuntimeException("Map file not found: " + fileName);
             }
+            return Files.newInputStream(Path.of(fileName));
+        }
 
-        } catch (Exception e) {
-            e.printStackTrace(); // Print the full stack trace for debugging
-            throw new RuntimeException("Error while reading the map file: " + e.getMessage(), e);
+        InputStream mapFileStream = getClass().getResourceAsStream("/map.txt");
+        if (mapFileStream == null) {
+            throw new RuntimeException("Map file not found! Ensure 'map.txt' is in 'src/main/resources'.");
+        }
+        return mapFileStream;
+    }
+
+    /**
+     * Creates a maze with new entities for the given layout
+     * @param layout layout of the maze
+     * @return the created maze
+     */
+    public Maze createMaze(MazeLayout layout) {
+        boolean isChunked = layout.getWidth() * layout.getHeight() >= CHUNKED_MIN_TILES;
+        // Static entities take no slot in the entity store
+        ChunkedWorld chunkedWorld = isChunked ? new ChunkedWorld(layout, (type, x, y) -> {
+            Renderable entity = createEntity(type, x, y, null);
+            return entity instanceof StaticEntity staticEntity ? staticEntity : null;
+        }) : null;
+        Maze maze = new Maze(layout.getWallMap(), layout.getDistanceFieldCache(), chunkedWorld);
+
+        // Only the non-empty tiles are visited, in row-major order
+        for (int i = 0; i < layout.getNumSpawns(); i++) {
+            int index = layout.getSpawn(i);
+            int x = index % layout.getWidth();
+            int y = index / layout.getWidth();
+            char currentChar = layout.getTile(index);
+            if (isChunked && currentChar != RenderableType.PACMAN && currentChar != RenderableType.GHOST) {
+                continue;
+            }
+            // Use the factory method to create an entity
+            Renderable entity = createEntity(currentChar, x * RESIZING_FACTOR, y * RESIZING_FACTOR,
+                    maze.getEntityStore());
+            maze.addRenderable(entity, currentChar, x, y);
         }
 
         return maze;
@@ -70,7 +131,7 @@ public class MazeCreator {
 
     // Factory method to create entities
     // Factory method to create entities
-private Renderable createEntity(char type, int x, int y) {
+private Renderable createEntity(char type, int x, int y, EntityStore entityStore) {
     switch (type) {
         case RenderableType.PACMAN:
             // Create and initialize the image map for Pacman
@@ -84,19 +145,15 @@ private Renderable createEntity(char type, int x, int y) {
             return new Pacman(
                     loadImage("/maze/pacman/playerRight.png"), // Initial image for Pac-Man
                     imageMap, // Map of Pacman images
-                    new BoundingBoxImpl(new Vector2D(x, y), RESIZING_FACTOR, RESIZING_FACTOR),
-                    new KinematicStateImpl.KinematicStateBuilder()
-                            .setPosition(new Vector2D(x, y))
-                            .build()
+                    entityStore,
+                    entityStore.add(x, y, RESIZING_FACTOR, RESIZING_FACTOR)
             );
 
         case RenderableType.GHOST:
             return new GhostImpl(
                     loadImage("/maze/ghosts/ghost.png"), // Placeholder for Ghost image
-                    new BoundingBoxImpl(new Vector2D(x, y), RESIZING_FACTOR, RESIZING_FACTOR),
-                    new KinematicStateImpl.KinematicStateBuilder()
-                            .setPosition(new Vector2D(x, y))
-                            .build(),
+                    entityStore,
+                    entityStore.add(x, y, RESIZING_FACTOR, RESIZING_FACTOR),
                     null, // Initial GhostMode
                     new Vector2D(x, y), // Placeholder for target corner
                     null  // Placeholder for initial direction
@@ -149,12 +206,7 @@ private Renderable createEntity(char type, int x, int y) {
 
 
 private Image loadImage(String resourcePath) {
-    InputStream imageStream = getClass().getResourceAsStream(resourcePath);
-    if (imageStream == null) {
-        throw new RuntimeException("Image not found: " + resourcePath);
-    }
-    return new Image(getClass().getResource(resourcePath).toExternalForm());
-    
+    return imageLoader.loadImage(resourcePath);
 }
 
 }
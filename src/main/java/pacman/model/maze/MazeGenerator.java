@@ -0,0 +1,388 @@
+package pacman.model.maze;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded generator of mirrored mazes of any size, for scale and stress testing.
+ * The left half is a perfect maze built one row of cells at a time with Eller's algorithm, which only keeps
+ * the current row of cells, so generation streams rows in memory proportional to the width of the maze.
+ * The right half mirrors the left, and the two halves are joined through the centre column.
+ * The same seed and settings always generate the same maze.
+ */
+public class MazeGenerator {
+
+    /**
+     * Receives the rows of a generated maze, from top to bottom
+     */
+    public interface RowSink {
+        /**
+         * @param row renderable type characters of the row, only valid until the next row is accepted
+         * @throws IOException if the row cannot be written
+         */
+        void acceptRow(char[] row) throws IOException;
+    }
+
+    private final long seed;
+    private final int cellsX;
+    private final int cellsY;
+    private final double pelletDensity;
+    private final int numGhosts;
+    private final double loopProbability;
+    private final int halfWidth;
+    private final int width;
+    private final int height;
+
+    private MazeGenerator(MazeGeneratorBuilder builder) {
+        this.seed = builder.seed;
+        this.cellsX = (builder.width - 2) / 4;
+        this.cellsY = (builder.height - 1) / 2;
+        this.pelletDensity = builder.pelletDensity;
+        this.numGhosts = builder.numGhosts;
+        this.loopProbability = builder.loopProbability;
+        this.halfWidth = 2 * cellsX + 1;
+        this.width = 2 * halfWidth;
+        this.height = 2 * cellsY + 1;
+
+        if (cellsX < 1 || cellsY < 1) {
+            throw new IllegalArgumentException("Maze must be at least 6x3 tiles, was " +
+                    builder.width + "x" + builder.height);
+        }
+        if (numGhosts < 0 || numGhosts > 2 * cellsX * cellsY - 1) {
+            throw new IllegalArgumentException("Number of ghosts must be between 0 and " +
+                    (2 * cellsX * cellsY - 1) + ", was " + numGhosts);
+        }
+    }
+
+    /**
+     * @return width of the generated maze in tiles, the requested width rounded down to fit the cells
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return height of the generated maze in tiles, the requested height rounded down to fit the cells
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Generates the maze row by row
+     * @param sink receiver of the rows
+     * @throws IOException if the sink cannot accept a row
+     */
+    public void generate(RowSink sink) throws IOException {
+        Random random = new Random(seed);
+        int[] ghostTiles = chooseGhostTiles(random);
+        int pacmanTile = getCellTile(cellsX - 1, cellsY / 2);
+        EllerRows wallRows = new EllerRows(random);
+
+        boolean[] previousWalls = null;
+        boolean[] walls = wallRows.next(new boolean[width]);
+        boolean[] spareWalls = new boolean[width];
+        char[] row = new char[width];
+        int nextGhost = 0;
+
+        for (int y = 0; y < height; y++) {
+            boolean[] nextWalls = y + 1 < height ? wallRows.next(spareWalls) : null;
+
+            for (int x = 0; x < halfWidth; x++) {
+                if (walls[x]) {
+                    row[x] = getWallType(previousWalls, walls, nextWalls, x);
+                    row[width - 1 - x] = getWallType(previousWalls, walls, nextWalls, width - 1 - x);
+                } else {
+                    row[x] = random.nextDouble() < pelletDensity ? RenderableType.PELLET : RenderableType.EMPTY;
+                    row[width - 1 - x] = row[x];
+                }
+            }
+
+            // Ghost tiles are sorted, so the ones on this row are next
+            while (nextGhost < ghostTiles.length && ghostTiles[nextGhost] / width == y) {
+                row[ghostTiles[nextGhost++] % width] = RenderableType.GHOST;
+            }
+            if (pacmanTile / width == y) {
+                row[pacmanTile % width] = RenderableType.PACMAN;
+            }
+            sink.acceptRow(row);
+
+            spareWalls = previousWalls != null ? previousWalls : new boolean[width];
+            previousWalls = walls;
+            walls = nextWalls;
+        }
+    }
+
+    /**
+     * Writes the maze in the map text format, one line per row
+     * @param out writer of the map, which is not closed
+     * @throws IOException if the writer cannot be written
+     */
+    public void write(Writer out) throws IOException {
+        generate(row -> {
+            out.write(row);
+            out.write('\n');
+        });
+    }
+
+    /**
+     * Generates the maze straight into a layout, without going through text
+     * @return layout of the maze
+     */
+    public MazeLayout generateLayout() {
+        MazeLayout.MazeLayoutBuilder builder = new MazeLayout.MazeLayoutBuilder(width, height);
+        try {
+            generate(builder::addRow);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.build();
+    }
+
+    // Floyd's sampling of distinct cells of either half, leaving out the cell of Pac-Man
+    private int[] chooseGhostTiles(Random random) {
+        int numCells = 2 * cellsX * cellsY;
+        int pacmanCell = (cellsY / 2) * 2 * cellsX + cellsX - 1;
+        Set<Integer> cells = new HashSet<>();
+        for (int bound = numCells - 1 - numGhosts; bound < numCells - 1; bound++) {
+            int cell = random.nextInt(bound + 1);
+            cells.add(cells.contains(cell) ? bound : cell);
+        }
+
+        int[] tiles = new int[cells.size()];
+        int i = 0;
+        for (int cell : cells) {
+            int cellIndex = cell >= pacmanCell ? cell + 1 : cell;
+            tiles[i++] = getCellTile(cellIndex % (2 * cellsX), cellIndex / (2 * cellsX));
+        }
+        Arrays.sort(tiles);
+        return tiles;
+    }
+
+    // Cells of the right half are the mirror images of the cells of the left half
+    private int getCellTile(int cellX, int cellY) {
+        int x = cellX < cellsX ? 2 * cellX + 1 : width - 2 - 2 * (2 * cellsX - 1 - cellX);
+        return (2 * cellY + 1) * width + x;
+    }
+
+    private char getWallType(boolean[] previousWalls, boolean[] walls, boolean[] nextWalls, int x) {
+        boolean up = previousWalls != null && previousWalls[x];
+        boolean down = nextWalls != null && nextWalls[x];
+        boolean left = x > 0 && walls[x - 1];
+        boolean right = x < width - 1 && walls[x + 1];
+
+        if (up != down && left != right) {
+            if (down) {
+                return right ? RenderableType.DOWN_RIGHT_WALL : RenderableType.DOWN_LEFT_WALL;
+            }
+            return right ? RenderableType.UP_RIGHT_WALL : RenderableType.UP_LEFT_WALL;
+        }
+        if (up || down) {
+            return left && right && !(up && down) ? RenderableType.HORIZONTAL_WALL : RenderableType.VERTICAL_WALL;
+        }
+        return RenderableType.HORIZONTAL_WALL;
+    }
+
+    /**
+     * Wall rows of the maze, generated by Eller's algorithm for the left half and mirrored.
+     * Every row of cells gives two rows of tiles: the cells with the walls between them,
+     * then the walls below them.
+     */
+    private class EllerRows {
+        private final Random random;
+        private final int[] sets;
+        private final int[] setSizes;
+        private final boolean[] hasPassageDown;
+        private final int[] freeSets;
+        private final boolean[] openRight;
+        private final boolean[] openDown;
+        private int numFreeSets;
+        private int cellY;
+        private int tileY;
+
+        private EllerRows(Random random) {
+            this.random = random;
+            this.sets = new int[cellsX];
+            this.setSizes = new int[cellsX];
+            this.hasPassageDown = new boolean[cellsX];
+            this.freeSets = new int[cellsX];
+            this.openRight = new boolean[cellsX];
+            this.openDown = new boolean[cellsX];
+
+            Arrays.fill(sets, -1);
+            for (int set = cellsX - 1; set >= 0; set--) {
+                freeSets[numFreeSets++] = set;
+            }
+        }
+
+        /**
+         * Generates the next row of tiles
+         * @param walls array of width to fill in, true for wall tiles
+         * @return the filled in array
+         */
+        private boolean[] next(boolean[] walls) {
+            Arrays.fill(walls, true);
+            if (tileY == 0) {
+                tileY++;
+                return walls;
+            }
+
+            if (tileY % 2 == 1) {
+                generateCellRow();
+                for (int cellX = 0; cellX < cellsX; cellX++) {
+                    setOpen(walls, 2 * cellX + 1);
+                    if (openRight[cellX]) {
+                        setOpen(walls, 2 * cellX + 2);
+                    }
+                }
+            } else {
+                for (int cellX = 0; cellX < cellsX; cellX++) {
+                    if (openDown[cellX]) {
+                        setOpen(walls, 2 * cellX + 1);
+                    }
+                }
+                cellY++;
+            }
+            tileY++;
+            return walls;
+        }
+
+        private void setOpen(boolean[] walls, int x) {
+            walls[x] = false;
+            walls[width - 1 - x] = false;
+        }
+
+        private void generateCellRow() {
+            boolean isLastRow = cellY == cellsY - 1;
+            for (int cellX = 0; cellX < cellsX; cellX++) {
+                if (sets[cellX] < 0) {
+                    sets[cellX] = freeSets[--numFreeSets];
+                    setSizes[sets[cellX]] = 1;
+                }
+            }
+
+            // Joining cells of different sets keeps the maze a tree, joining cells of the same set makes a loop
+            for (int cellX = 0; cellX < cellsX - 1; cellX++) {
+                if (sets[cellX] != sets[cellX + 1]) {
+                    openRight[cellX] = isLastRow || random.nextBoolean();
+                    if (openRight[cellX]) {
+                        mergeSets(sets[cellX + 1], sets[cellX]);
+                    }
+                } else {
+                    openRight[cellX] = random.nextDouble() < loopProbability;
+                }
+            }
+            // The last cell opens onto its mirror image, which always happens on the middle row to join the halves
+            openRight[cellsX - 1] = cellY == cellsY / 2 || random.nextDouble() < loopProbability;
+
+            if (isLastRow) {
+                Arrays.fill(openDown, false);
+                return;
+            }
+
+            // Every set carries on into the next row through at least one passage down
+            Arrays.fill(hasPassageDown, false);
+            for (int cellX = 0; cellX < cellsX; cellX++) {
+                openDown[cellX] = random.nextBoolean();
+                hasPassageDown[sets[cellX]] |= openDown[cellX];
+            }
+            for (int cellX = cellsX - 1; cellX >= 0; cellX--) {
+                if (!hasPassageDown[sets[cellX]]) {
+                    openDown[cellX] = true;
+                    hasPassageDown[sets[cellX]] = true;
+                }
+            }
+
+            for (int cellX = 0; cellX < cellsX; cellX++) {
+                if (!openDown[cellX]) {
+                    int set = sets[cellX];
+                    if (--setSizes[set] == 0) {
+                        freeSets[numFreeSets++] = set;
+                    }
+                    sets[cellX] = -1;
+                }
+            }
+        }
+
+        private void mergeSets(int from, int to) {
+            for (int cellX = 0; cellX < cellsX; cellX++) {
+                if (sets[cellX] == from) {
+                    sets[cellX] = to;
+                }
+            }
+            setSizes[to] += setSizes[from];
+            setSizes[from] = 0;
+            freeSets[numFreeSets++] = from;
+        }
+    }
+
+    /**
+     * Builder of maze generators, with the defaults of a small maze with half of its corridors holding pellets
+     */
+    public static class MazeGeneratorBuilder {
+        private long seed;
+        private int width = 28;
+        private int height = 31;
+        private double pelletDensity = 0.5;
+        private int numGhosts = 4;
+        private double loopProbability = 0.1;
+
+        public MazeGeneratorBuilder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the size of the maze, which is rounded down to a width of 4n + 2 and an odd height
+         * @param width width in tiles, at least 6
+         * @param height height in tiles, at least 3
+         * @return this builder
+         */
+        public MazeGeneratorBuilder setSize(int width, int height) {
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        /**
+         * @param pelletDensity probability of a corridor tile holding a pellet, between 0 and 1
+         * @return this builder
+         */
+        public MazeGeneratorBuilder setPelletDensity(double pelletDensity) {
+            if (pelletDensity < 0 || pelletDensity > 1) {
+                throw new IllegalArgumentException("Pellet density must be between 0 and 1, was " + pelletDensity);
+            }
+            this.pelletDensity = pelletDensity;
+            return this;
+        }
+
+        public MazeGeneratorBuilder setNumGhosts(int numGhosts) {
+            this.numGhosts = numGhosts;
+            return this;
+        }
+
+        /**
+         * Sets how far the corridors are from a tree, where 0 gives a perfect maze with a single path between
+         * any two cells, and 1 opens every wall between cells that are already connected
+         * @param loopProbability probability of opening a wall that makes a loop, between 0 and 1
+         * @return this builder
+         */
+        public MazeGeneratorBuilder setLoopProbability(double loopProbability) {
+            if (loopProbability < 0 || loopProbability > 1) {
+                throw new IllegalArgumentException("Loop probability must be between 0 and 1, was " +
+                        loopProbability);
+            }
+            this.loopProbability = loopProbability;
+            return this;
+        }
+
+        public MazeGenerator build() {
+            return new MazeGenerator(this);
+        }
+    }
+}
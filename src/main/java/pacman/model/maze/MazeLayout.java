@@ -0,0 +1,171 @@
+package pacman.model.maze;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable tile layout of a maze, as read from a map file.
+ * A layout can be shared by any number of Maze instances, as it holds no entity state.
+ * Besides the tiles, the layout lists the spawns of the map: the index of every non-empty tile in row-major order,
+ * so mazes can be created without visiting the empty tiles.
+ */
+public class MazeLayout {
+
+    private final int width;
+    private final int height;
+    private final ByteBuffer tiles;
+    private final IntBuffer spawns;
+    private final WallMap wallMap;
+    private final DistanceFieldCache distanceFieldCache;
+
+    public MazeLayout(List<String> lines) {
+        this(fromLines(lines));
+    }
+
+    private static MazeLayoutBuilder fromLines(List<String> lines) {
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, line.length());
+        }
+
+        MazeLayoutBuilder builder = new MazeLayoutBuilder(width, lines.size());
+        for (String line : lines) {
+            builder.addRow(line.toCharArray());
+        }
+        return builder;
+    }
+
+    private MazeLayout(MazeLayoutBuilder builder) {
+        this(builder.width, builder.height, builder.tiles,
+                IntBuffer.wrap(builder.spawnIndices, 0, builder.numSpawns).slice(), builder.wallMap);
+    }
+
+    /**
+     * Creates a layout over existing buffers, such as the regions of a compiled map file
+     * @param tiles renderable type character of every tile in row-major order
+     * @param spawns row-major indices of the non-empty tiles, in ascending order
+     * @param wallMap wall map of the tiles
+     */
+    MazeLayout(int width, int height, ByteBuffer tiles, IntBuffer spawns, WallMap wallMap) {
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.spawns = spawns;
+        this.wallMap = wallMap;
+        this.distanceFieldCache = new DistanceFieldCache(wallMap);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the renderable type of the tile
+     * @param x x index of tile
+     * @param y y index of tile
+     * @return renderable type character of the tile, see RenderableType
+     */
+    public char getTile(int x, int y) {
+        return getTile(y * width + x);
+    }
+
+    /**
+     * Gets the renderable type of the tile
+     * @param index row-major index of tile
+     * @return renderable type character of the tile, see RenderableType
+     */
+    public char getTile(int index) {
+        return (char) (tiles.get(index) & 0xFF);
+    }
+
+    /**
+     * @return number of non-empty tiles in the layout
+     */
+    public int getNumSpawns() {
+        return spawns.limit();
+    }
+
+    /**
+     * Gets the tile of a spawn, in row-major order
+     * @param spawn number of the spawn, below getNumSpawns
+     * @return row-major index of the tile
+     */
+    public int getSpawn(int spawn) {
+        return spawns.get(spawn);
+    }
+
+    public WallMap getWallMap() {
+        return wallMap;
+    }
+
+    /**
+     * Gets the distance fields of the layout, shared by every maze created from it
+     * @return cache of distance fields
+     */
+    public DistanceFieldCache getDistanceFieldCache() {
+        return distanceFieldCache;
+    }
+
+    /**
+     * Builds a layout one row at a time, so that large generated maps are never held as strings
+     */
+    public static class MazeLayoutBuilder {
+        private final int width;
+        private final int height;
+        private final ByteBuffer tiles;
+        private final WallMap wallMap;
+        private int[] spawnIndices;
+        private int numSpawns;
+        private int numRows;
+
+        /**
+         * @param width number of tiles in each row
+         * @param height number of rows, rows that are not added are empty
+         */
+        public MazeLayoutBuilder(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.tiles = ByteBuffer.allocate(width * height);
+            this.wallMap = new WallMap(width, height);
+            this.spawnIndices = new int[Math.max(16, width)];
+        }
+
+        /**
+         * Adds the next row of the layout
+         * @param row renderable type characters of the row, padded with empty tiles if shorter than the width
+         * @return this builder
+         */
+        public MazeLayoutBuilder addRow(char[] row) {
+            if (numRows >= height) {
+                throw new IllegalStateException("Layout already has " + height + " rows");
+            }
+
+            int y = numRows++;
+            for (int x = 0; x < width; x++) {
+                char tile = x < row.length ? row[x] : RenderableType.EMPTY;
+                int index = y * width + x;
+                tiles.put(index, (byte) tile);
+                if (tile != RenderableType.EMPTY) {
+                    if (numSpawns == spawnIndices.length) {
+                        spawnIndices = Arrays.copyOf(spawnIndices, spawnIndices.length * 2);
+                    }
+                    spawnIndices[numSpawns++] = index;
+                }
+                if (RenderableType.isWall(tile)) {
+                    wallMap.setWall(x, y);
+                }
+            }
+            return this;
+        }
+
+        public MazeLayout build() {
+            return new MazeLayout(this);
+        }
+    }
+}
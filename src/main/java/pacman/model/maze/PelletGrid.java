@@ -0,0 +1,135 @@
+package pacman.model.maze;
+
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.physics.BoundingBox;
+import pacman.model.entity.staticentity.collectable.Collectable;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Tile-indexed store of the collectables in a maze, with a count of those not yet collected.
+ * Collectables occupy a single tile, so finding the collectable at a point is a single array read.
+ */
+public class PelletGrid implements PelletIndex {
+
+    private final int width;
+    private final int height;
+    private final Collectable[] collectables;
+    private int numRemaining;
+
+    public PelletGrid(int width, int height, List<Renderable> pellets) {
+        this.width = width;
+        this.height = height;
+        this.collectables = new Collectable[width * height];
+
+        for (Renderable pellet : pellets) {
+            if (pellet instanceof Collectable collectable) {
+                int index = getIndex(pellet.getBoundingBox().getLeftX(), pellet.getBoundingBox().getTopY());
+                if (index >= 0) {
+                    collectables[index] = collectable;
+                    if (collectable.isCollectable()) {
+                        numRemaining++;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public Collectable getCollectableAt(double x, double y) {
+        int index = getIndex(x, y);
+        return index >= 0 ? collectables[index] : null;
+    }
+
+    @Override
+    public boolean contains(Renderable renderable) {
+        BoundingBox boundingBox = renderable.getBoundingBox();
+        return getCollectableAt(boundingBox.getLeftX(), boundingBox.getTopY()) == renderable;
+    }
+
+    @Override
+    public void markCollected(Collectable collectable) {
+        if (contains(collectable)) {
+            numRemaining--;
+        }
+    }
+
+    /**
+     * Counts the collectables that have not been collected again, after their state has been restored
+     */
+    public void recount() {
+        numRemaining = 0;
+        for (Collectable collectable : collectables) {
+            if (collectable != null && collectable.isCollectable()) {
+                numRemaining++;
+            }
+        }
+    }
+
+    @Override
+    public int getNumRemaining() {
+        return numRemaining;
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(collectables.length);
+
+        // Collected collectables as a bitset, 64 tiles to a word
+        long word = 0;
+        for (int i = 0; i < collectables.length; ++i) {
+            if (collectables[i] != null && !collectables[i].isCollectable()) {
+                word |= 1L << i;
+            }
+            if ((i & 63) == 63 || i == collectables.length - 1) {
+                buffer.putLong(word);
+                word = 0;
+            }
+        }
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        checkState(buffer, buffer.position());
+        buffer.getInt();
+
+        // Only collectables whose state differs are touched
+        long word = 0;
+        for (int i = 0; i < collectables.length; ++i) {
+            if ((i & 63) == 0) {
+                word = buffer.getLong();
+            }
+            Collectable collectable = collectables[i];
+            boolean isCollected = (word & (1L << i)) != 0;
+            if (collectable != null && isCollected == collectable.isCollectable()) {
+                if (isCollected) {
+                    collectable.collect();
+                } else {
+                    collectable.reset();
+                }
+            }
+        }
+        recount();
+    }
+
+    @Override
+    public void checkState(ByteBuffer buffer, int index) {
+        int numWords = (collectables.length + Long.SIZE - 1) / Long.SIZE;
+        if (buffer.limit() - index < Integer.BYTES + (long) numWords * Long.BYTES) {
+            throw new IllegalArgumentException("State is truncated");
+        }
+        if (buffer.getInt(index) != collectables.length) {
+            throw new IllegalArgumentException("State was not written for a maze of this size");
+        }
+    }
+
+    private int getIndex(double x, double y) {
+        int xTile = (int) Math.floor(x / MazeCreator.RESIZING_FACTOR);
+        int yTile = (int) Math.floor(y / MazeCreator.RESIZING_FACTOR);
+        if (xTile < 0 || xTile >= width || yTile < 0 || yTile >= height) {
+            return -1;
+        }
+        return yTile * width + xTile;
+    }
+}
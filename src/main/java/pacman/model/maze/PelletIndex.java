@@ -0,0 +1,58 @@
+package pacman.model.maze;
+
+import pacman.model.entity.Renderable;
+import pacman.model.entity.staticentity.collectable.Collectable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Index of the collectables of a maze by tile, with a count of those not yet collected
+ */
+public interface PelletIndex {
+
+    /**
+     * Gets the collectable whose tile contains the point
+     * @param x x coordinate of the point
+     * @param y y coordinate of the point
+     * @return the collectable in the tile, or null if there is none
+     */
+    Collectable getCollectableAt(double x, double y);
+
+    /**
+     * Checks if the renderable is one of the collectables in the index
+     * @param renderable renderable to check
+     * @return true, if the renderable is indexed
+     */
+    boolean contains(Renderable renderable);
+
+    /**
+     * Records that a collectable in the index has been collected
+     * @param collectable the collected collectable
+     */
+    void markCollected(Collectable collectable);
+
+    /**
+     * @return number of collectables in the index that have not been collected
+     */
+    int getNumRemaining();
+
+    /**
+     * Writes which collectables have been collected, as a bitset in an order fixed by the maze layout
+     * @param buffer buffer to write to
+     */
+    void writeState(ByteBuffer buffer);
+
+    /**
+     * Restores the collectables written by writeState, collecting or resetting those that differ
+     * @param buffer buffer to read from
+     */
+    void readState(ByteBuffer buffer);
+
+    /**
+     * Checks that the buffer holds a whole state written by writeState for this index, without reading it
+     * @param buffer buffer holding the state
+     * @param index index of the state in the buffer
+     * @throws IllegalArgumentException if the state was not written for this index or is truncated
+     */
+    void checkState(ByteBuffer buffer, int index);
+}
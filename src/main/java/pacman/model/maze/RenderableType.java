@@ -2,6 +2,7 @@ package pacman.model.maze;
 
 //Mapping of characters used in map text files to renderable type
 public interface RenderableType {
+    char EMPTY = '0';
     char HORIZONTAL_WALL = '1';
     char VERTICAL_WALL = '2';
     char UP_LEFT_WALL = '3';
@@ -11,4 +12,13 @@ public interface RenderableType {
     char PELLET = '7';
     char PACMAN = 'p';
     char GHOST = 'g';
+
+    /**
+     * Checks if the renderable type is one of the wall types
+     * @param renderableType renderable type character
+     * @return true, if the renderable type is a wall
+     */
+    static boolean isWall(char renderableType) {
+        return renderableType >= HORIZONTAL_WALL && renderableType <= DOWN_RIGHT_WALL;
+    }
 }
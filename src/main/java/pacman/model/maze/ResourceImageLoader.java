@@ -0,0 +1,29 @@
+package pacman.model.maze;
+
+import javafx.scene.image.Image;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Standard image loader - decodes images from the classpath resources.
+ * Decoded images are cached process-wide by resource path, so every entity using a sprite shares one image.
+ */
+public class ResourceImageLoader implements ImageLoader {
+
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+    @Override
+    public Image loadImage(String resourcePath) {
+        return IMAGES.computeIfAbsent(resourcePath, ResourceImageLoader::decodeImage);
+    }
+
+    private static Image decodeImage(String resourcePath) {
+        InputStream imageStream = ResourceImageLoader.class.getResourceAsStream(resourcePath);
+        if (imageStream == null) {
+            throw new RuntimeException("Image not found: " + resourcePath);
+        }
+        return new Image(ResourceImageLoader.class.getResource(resourcePath).toExternalForm());
+    }
+}
@@ -0,0 +1,90 @@
+package pacman.model.maze;
+
+import pacman.model.entity.dynamic.physics.BoundingBox;
+import pacman.model.entity.staticentity.StaticEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform grid of static entities, keyed on MazeCreator.RESIZING_FACTOR sized tiles.
+ * Used as the broad-phase for collision checks, so that a dynamic entity is only
+ * tested against the static entities in the tiles its bounding box overlaps.
+ */
+public class SpatialGrid implements StaticEntityIndex {
+
+    private final int width;
+    private final int height;
+    private final List<List<StaticEntity>> cells;
+
+    public SpatialGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = new ArrayList<>(width * height);
+        for (int i = 0; i < width * height; i++) {
+            this.cells.add(null);
+        }
+    }
+
+    /**
+     * Adds the static entity to the tile containing its top left corner
+     * @param staticEntity static entity to be added
+     */
+    public void add(StaticEntity staticEntity) {
+        BoundingBox boundingBox = staticEntity.getBoundingBox();
+        int xTile = toTile(boundingBox.getLeftX());
+        int yTile = toTile(boundingBox.getTopY());
+        if (!isInBounds(xTile, yTile)) {
+            return;
+        }
+
+        int index = yTile * width + xTile;
+        List<StaticEntity> cell = cells.get(index);
+        if (cell == null) {
+            cell = new ArrayList<>(1);
+            cells.set(index, cell);
+        }
+        cell.add(staticEntity);
+    }
+
+    /**
+     * Collects the static entities in every tile overlapped by the bounding box
+     * @param boundingBox bounding box to query
+     * @param result list to be filled with the nearby static entities, cleared before use
+     */
+    public void getNearbyEntities(BoundingBox boundingBox, List<StaticEntity> result) {
+        getNearbyEntities(boundingBox.getLeftX(), boundingBox.getTopY(),
+                boundingBox.getWidth(), boundingBox.getHeight(), result);
+    }
+
+    @Override
+    public void getNearbyEntities(double leftX, double topY, double boxWidth, double boxHeight,
+                                  List<StaticEntity> result) {
+        result.clear();
+
+        int minX = Math.max(toTile(leftX), 0);
+        int maxX = Math.min(toTile(leftX + boxWidth), width - 1);
+        int minY = Math.max(toTile(topY), 0);
+        int maxY = Math.min(toTile(topY + boxHeight), height - 1);
+
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                List<StaticEntity> cell = cells.get(y * width + x);
+                if (cell != null) {
+                    // Added one at a time, as addAll copies the cell into a temporary array
+                    for (int i = 0; i < cell.size(); i++) {
+                        result.add(cell.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isInBounds(int xTile, int yTile) {
+        return xTile >= 0 && xTile < width && yTile >= 0 && yTile < height;
+    }
+
+    private static int toTile(double coordinate) {
+        return (int) Math.floor(coordinate / MazeCreator.RESIZING_FACTOR);
+    }
+}
@@ -0,0 +1,17 @@
+package pacman.model.maze;
+
+import pacman.model.entity.staticentity.StaticEntity;
+
+/**
+ * Creates the static entity of a tile, when the part of the maze holding the tile is materialised
+ */
+public interface StaticEntityFactory {
+
+    /**
+     * @param renderableType renderable type character of the tile, see RenderableType
+     * @param x x coordinate of the top left of the tile
+     * @param y y coordinate of the top left of the tile
+     * @return the static entity of the tile, or null if the tile holds none
+     */
+    StaticEntity createStaticEntity(char renderableType, int x, int y);
+}
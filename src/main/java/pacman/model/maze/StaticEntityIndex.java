@@ -0,0 +1,21 @@
+package pacman.model.maze;
+
+import pacman.model.entity.staticentity.StaticEntity;
+
+import java.util.List;
+
+/**
+ * Index of the static entities of a maze by tile, used as the broad-phase for collision checks
+ */
+public interface StaticEntityIndex {
+
+    /**
+     * Collects the static entities in every tile overlapped by the box
+     * @param leftX x coordinate of the left of the box
+     * @param topY y coordinate of the top of the box
+     * @param boxWidth width of the box
+     * @param boxHeight height of the box
+     * @param result list to be filled with the nearby static entities, cleared before use
+     */
+    void getNearbyEntities(double leftX, double topY, double boxWidth, double boxHeight, List<StaticEntity> result);
+}
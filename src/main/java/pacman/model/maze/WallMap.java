@@ -0,0 +1,110 @@
+package pacman.model.maze;
+
+import pacman.model.entity.dynamic.physics.Direction;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact wall occupancy of the maze, stored as one byte cell per tile.
+ * The low bits of a cell hold the legal directions out of the tile, which are kept up to date
+ * as walls are added so they can be resolved with a single read, and WALL marks the tile as a wall.
+ * Tiles outside of the maze are never walls.
+ * Walls are only added while a MazeLayout is built, so a wall map is read-only once it is shared,
+ * and its cells can be backed by a compiled map file.
+ */
+public class WallMap {
+
+    static final int WALL = 1 << 4;
+    private final int width;
+    private final int height;
+    private final ByteBuffer cells;
+
+    WallMap(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = ByteBuffer.allocate(width * height);
+        for (int i = 0; i < width * height; i++) {
+            this.cells.put(i, (byte) Direction.ALL);
+        }
+    }
+
+    /**
+     * @param cells cells of the tiles in row-major order, as written by getCell
+     */
+    WallMap(int width, int height, ByteBuffer cells) {
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
+    }
+
+    /**
+     * Marks the tile as a wall
+     * @param x x index of tile
+     * @param y y index of tile
+     */
+    void setWall(int x, int y) {
+        if (isInBounds(x, y)) {
+            int index = y * width + x;
+            cells.put(index, (byte) (cells.get(index) | WALL));
+
+            removePossibleDirection(x, y + 1, Direction.UP);
+            removePossibleDirection(x, y - 1, Direction.DOWN);
+            removePossibleDirection(x + 1, y, Direction.LEFT);
+            removePossibleDirection(x - 1, y, Direction.RIGHT);
+        }
+    }
+
+    private void removePossibleDirection(int x, int y, Direction direction) {
+        if (isInBounds(x, y)) {
+            int index = y * width + x;
+            cells.put(index, (byte) (cells.get(index) & ~direction.getMask()));
+        }
+    }
+
+    /**
+     * Gets the directions that do not lead into a wall from the tile
+     * @param x x index of tile
+     * @param y y index of tile
+     * @return bitmask of possible directions, see Direction.getMask
+     */
+    public int getPossibleDirections(int x, int y) {
+        if (!isInBounds(x, y)) {
+            return Direction.ALL;
+        }
+        return cells.get(y * width + x) & Direction.ALL;
+    }
+
+    /**
+     * Checks if the tile is a wall
+     * @param x x index of tile
+     * @param y y index of tile
+     * @return true, if the tile is a wall
+     */
+    public boolean isWall(int x, int y) {
+        if (!isInBounds(x, y)) {
+            return false;
+        }
+        return (cells.get(y * width + x) & WALL) != 0;
+    }
+
+    /**
+     * Gets the raw cell of the tile, holding its possible directions and wall flag
+     * @param index row-major index of tile
+     * @return cell of the tile
+     */
+    byte getCell(int index) {
+        return cells.get(index);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    private boolean isInBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+}
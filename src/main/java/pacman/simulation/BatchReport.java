@@ -0,0 +1,79 @@
+package pacman.simulation;
+
+import java.util.List;
+
+/**
+ * Aggregate results of a batch of simulated games
+ */
+public class BatchReport {
+
+    private final int numGames;
+    private final int numWins;
+    private final int numFinished;
+    private final double meanScore;
+    private final double meanTicksToCompletion;
+    private final long elapsedMillis;
+
+    public BatchReport(List<GameResult> results, long elapsedMillis) {
+        int numWins = 0;
+        int numFinished = 0;
+        long totalScore = 0;
+        long totalTicksToCompletion = 0;
+
+        for (GameResult result : results) {
+            totalScore += result.getScore();
+            if (result.isWon()) {
+                numWins++;
+            }
+            if (result.isFinished()) {
+                numFinished++;
+                totalTicksToCompletion += result.getTicks();
+            }
+        }
+
+        this.numGames = results.size();
+        this.numWins = numWins;
+        this.numFinished = numFinished;
+        this.meanScore = numGames == 0 ? 0 : (double) totalScore / numGames;
+        this.meanTicksToCompletion = numFinished == 0 ? 0 : (double) totalTicksToCompletion / numFinished;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getNumGames() {
+        return numGames;
+    }
+
+    public double getWinRate() {
+        return numGames == 0 ? 0 : (double) numWins / numGames;
+    }
+
+    public double getMeanScore() {
+        return meanScore;
+    }
+
+    /**
+     * Gets the mean number of ticks taken by the games that were won or lost within the tick limit
+     * @return mean ticks to completion
+     */
+    public double getMeanTicksToCompletion() {
+        return meanTicksToCompletion;
+    }
+
+    /**
+     * @return number of games that reached the tick limit without being won or lost
+     */
+    public int getNumTimedOut() {
+        return numGames - numFinished;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Games: %d%nWin rate: %.2f%%%nMean score: %.1f%nMean ticks to completion: %.1f%nTimed out: %d%nElapsed: %d ms",
+                numGames, getWinRate() * 100, meanScore, meanTicksToCompletion, getNumTimedOut(), elapsedMillis);
+    }
+}
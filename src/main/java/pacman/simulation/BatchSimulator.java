@@ -0,0 +1,89 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngineFactory;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.engine.HeadlessGameRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Runs many independent headless games in parallel on a ForkJoinPool and aggregates their results.
+ * Every game is created from the same factory, so they share the parsed configuration and maze layout.
+ */
+public class BatchSimulator {
+
+    private static final String WIN_STATUS = "YOU WIN!";
+    private final GameEngineFactory gameEngineFactory;
+    private final int maxTicks;
+    private final int parallelism;
+
+    /**
+     * @param gameEngineFactory factory of headless engines for the simulated games
+     * @param maxTicks maximum number of ticks a game is run for
+     * @param parallelism number of games run at the same time
+     */
+    public BatchSimulator(GameEngineFactory gameEngineFactory, int maxTicks, int parallelism) {
+        this.gameEngineFactory = gameEngineFactory;
+        this.maxTicks = maxTicks;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Simulates a batch of games
+     * @param numGames number of games to simulate
+     * @param inputStrategies creates the input strategy of each game from its index in the batch
+     * @return aggregate results of the batch
+     */
+    public BatchReport run(int numGames, IntFunction<InputStrategy> inputStrategies) {
+        List<Callable<GameResult>> games = new ArrayList<>(numGames);
+        for (int i = 0; i < numGames; i++) {
+            InputStrategy inputStrategy = inputStrategies.apply(i);
+            games.add(() -> runGame(inputStrategy));
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<GameResult> results = new ArrayList<>(numGames);
+            for (Future<GameResult> game : pool.invokeAll(games)) {
+                results.add(game.get());
+            }
+            return new BatchReport(results, (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Simulated game failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs a single game until it is won or lost, or until the tick limit is reached
+     * @param inputStrategy input of the player
+     * @return result of the game
+     */
+    public GameResult runGame(InputStrategy inputStrategy) {
+        GameEngineImpl gameEngine = gameEngineFactory.createEngine();
+        HeadlessGameRunner runner = new HeadlessGameRunner(gameEngine);
+        gameEngine.startGame();
+
+        int ticks = 0;
+        while (ticks < maxTicks && runner.isRunning()) {
+            inputStrategy.apply(gameEngine, ticks);
+            gameEngine.tick();
+            ticks++;
+        }
+
+        boolean finished = !runner.isRunning();
+        boolean won = WIN_STATUS.equals(gameEngine.getGameStatus());
+        return new GameResult(won, finished, gameEngine.getScore(), ticks);
+    }
+}
@@ -0,0 +1,41 @@
+package pacman.simulation;
+
+/**
+ * Outcome of a single simulated game
+ */
+public class GameResult {
+
+    private final boolean won;
+    private final boolean finished;
+    private final int score;
+    private final int ticks;
+
+    public GameResult(boolean won, boolean finished, int score, int ticks) {
+        this.won = won;
+        this.finished = finished;
+        this.score = score;
+        this.ticks = ticks;
+    }
+
+    /**
+     * @return true, if the player completed every level
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * @return true, if the game was won or lost before reaching the tick limit
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+}
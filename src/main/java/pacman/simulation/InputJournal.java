@@ -0,0 +1,165 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngine;
+import pacman.model.entity.dynamic.physics.Direction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Immutable journal of the moves made in a game, each stamped with the tick it was applied before,
+ * together with the number of ticks and the final score of the recorded game.
+ * The binary form stores every move as a variable-length tick delta and a direction byte,
+ * so a ten minute game fits in a few kilobytes.
+ */
+public class InputJournal {
+
+    private static final int MAGIC = 0x504D4A31; // "PMJ1"
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private final int[] ticks;
+    private final Direction[] directions;
+    private final int numTicks;
+    private final int score;
+
+    /**
+     * @param ticks tick each move was applied before, in ascending order
+     * @param directions direction of each move
+     * @param numTicks number of ticks the recorded game ran for
+     * @param score final score of the recorded game
+     */
+    public InputJournal(int[] ticks, Direction[] directions, int numTicks, int score) {
+        if (ticks.length != directions.length) {
+            throw new IllegalArgumentException("Every move needs a tick and a direction");
+        }
+        for (int i = 1; i < ticks.length; i++) {
+            if (ticks[i] < ticks[i - 1]) {
+                throw new IllegalArgumentException("Moves must be in tick order");
+            }
+        }
+        this.ticks = ticks.clone();
+        this.directions = directions.clone();
+        this.numTicks = numTicks;
+        this.score = score;
+    }
+
+    public int getNumMoves() {
+        return ticks.length;
+    }
+
+    public int getNumTicks() {
+        return numTicks;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Creates an input strategy that applies the moves of the journal at their recorded ticks
+     * @return input strategy replaying the journal, to be used for a single game
+     */
+    public InputStrategy toInputStrategy() {
+        return new InputStrategy() {
+            private int nextMove = 0;
+
+            @Override
+            public void apply(GameEngine gameEngine, int tick) {
+                while (nextMove < ticks.length && ticks[nextMove] <= tick) {
+                    if (ticks[nextMove] == tick) {
+                        move(gameEngine, directions[nextMove]);
+                    }
+                    nextMove++;
+                }
+            }
+        };
+    }
+
+    private static void move(GameEngine gameEngine, Direction direction) {
+        switch (direction) {
+            case UP -> gameEngine.moveUp();
+            case DOWN -> gameEngine.moveDown();
+            case LEFT -> gameEngine.moveLeft();
+            case RIGHT -> gameEngine.moveRight();
+        }
+    }
+
+    /**
+     * Writes the journal in its binary form
+     * @param outputStream stream to write to, which is not closed
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 + ticks.length * 2);
+        DataOutputStream output = new DataOutputStream(buffer);
+        output.writeInt(MAGIC);
+        writeVarInt(output, numTicks);
+        writeVarInt(output, score);
+        writeVarInt(output, ticks.length);
+
+        int previousTick = 0;
+        for (int i = 0; i < ticks.length; i++) {
+            writeVarInt(output, ticks[i] - previousTick);
+            output.writeByte(directions[i].ordinal());
+            previousTick = ticks[i];
+        }
+
+        buffer.writeTo(outputStream);
+    }
+
+    /**
+     * Reads a journal from its binary form
+     * @param inputStream stream to read from, which is not closed
+     * @return the journal
+     */
+    public static InputJournal read(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(inputStream);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not an input journal");
+        }
+        int numTicks = readVarInt(input);
+        int score = readVarInt(input);
+        int numMoves = readVarInt(input);
+
+        int[] ticks = new int[numMoves];
+        Direction[] directions = new Direction[numMoves];
+        int tick = 0;
+        for (int i = 0; i < numMoves; i++) {
+            tick += readVarInt(input);
+            int direction = input.readUnsignedByte();
+            if (direction >= DIRECTIONS.length) {
+                throw new IOException("Unknown direction in input journal: " + direction);
+            }
+            ticks[i] = tick;
+            directions[i] = DIRECTIONS[direction];
+        }
+        return new InputJournal(ticks, directions, numTicks, score);
+    }
+
+    // Unsigned LEB128, most tick deltas and scores fit in one or two bytes
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new EOFException("Input journal is truncated");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer in input journal");
+    }
+}
@@ -0,0 +1,51 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngine;
+import pacman.model.entity.dynamic.physics.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Records the moves made in a game, stamped with the tick of the engine they were applied before,
+ * so that the game can be replayed headless from the resulting InputJournal.
+ * Moves are kept in growable arrays, so recording a move allocates nothing until the arrays grow.
+ * Moves must be recorded on the thread ticking the engine.
+ */
+public class InputRecorder {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private final GameEngine gameEngine;
+    private int[] ticks;
+    private Direction[] directions;
+    private int numMoves;
+
+    public InputRecorder(GameEngine gameEngine) {
+        this.gameEngine = gameEngine;
+        this.ticks = new int[INITIAL_CAPACITY];
+        this.directions = new Direction[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Records a move about to be applied to the engine
+     * @param direction direction of the move
+     */
+    public synchronized void record(Direction direction) {
+        if (numMoves == ticks.length) {
+            ticks = Arrays.copyOf(ticks, numMoves * 2);
+            directions = Arrays.copyOf(directions, numMoves * 2);
+        }
+        ticks[numMoves] = (int) gameEngine.getTickCount();
+        directions[numMoves] = direction;
+        numMoves++;
+    }
+
+    /**
+     * Creates a journal of the moves recorded so far, stamped with the current tick count and score.
+     * The engine must not be ticking while the journal is created.
+     * @return journal of the recorded game
+     */
+    public synchronized InputJournal toJournal() {
+        return new InputJournal(Arrays.copyOf(ticks, numMoves), Arrays.copyOf(directions, numMoves),
+                (int) gameEngine.getTickCount(), gameEngine.getScore());
+    }
+}
@@ -0,0 +1,16 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngine;
+
+/**
+ * Provides the player input for a simulated game
+ */
+public interface InputStrategy {
+
+    /**
+     * Applies the input for the given tick to the game engine, before the tick is run
+     * @param gameEngine engine of the simulated game
+     * @param tick number of the tick about to be run
+     */
+    void apply(GameEngine gameEngine, int tick);
+}
@@ -0,0 +1,37 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngine;
+
+import java.util.Random;
+
+/**
+ * Input strategy that moves the player in a random direction at a fixed tick interval
+ */
+public class RandomInputStrategy implements InputStrategy {
+
+    private final Random random;
+    private final int interval;
+
+    /**
+     * @param seed seed of the random directions, so that simulations are reproducible
+     * @param interval number of ticks between direction changes
+     */
+    public RandomInputStrategy(long seed, int interval) {
+        this.random = new Random(seed);
+        this.interval = interval;
+    }
+
+    @Override
+    public void apply(GameEngine gameEngine, int tick) {
+        if (tick % interval != 0) {
+            return;
+        }
+
+        switch (random.nextInt(4)) {
+            case 0 -> gameEngine.moveUp();
+            case 1 -> gameEngine.moveDown();
+            case 2 -> gameEngine.moveLeft();
+            default -> gameEngine.moveRight();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngine;
+import pacman.model.entity.dynamic.physics.Direction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Input strategy that replays a fixed script of moves, keyed by tick number
+ */
+public class ScriptedInputStrategy implements InputStrategy {
+
+    private final Map<Integer, Direction> script;
+
+    public ScriptedInputStrategy(Map<Integer, Direction> script) {
+        this.script = new HashMap<>(script);
+    }
+
+    @Override
+    public void apply(GameEngine gameEngine, int tick) {
+        Direction direction = script.get(tick);
+        if (direction == null) {
+            return;
+        }
+
+        switch (direction) {
+            case UP -> gameEngine.moveUp();
+            case DOWN -> gameEngine.moveDown();
+            case LEFT -> gameEngine.moveLeft();
+            case RIGHT -> gameEngine.moveRight();
+        }
+    }
+}
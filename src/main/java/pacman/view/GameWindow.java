@@ -1,8 +1,7 @@
 package pacman.view;
 
-import javafx.animation.KeyFrame;
+import javafx.animation.AnimationTimer;
 import javafx.animation.PauseTransition;
-import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
@@ -11,49 +10,104 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.util.Duration;
 import pacman.model.engine.GameEngine;
-import pacman.model.entity.Renderable;
+import pacman.model.engine.GameLoop;
+import pacman.model.level.WorldSnapshot;
 import pacman.model.entity.dynamic.ghost.Ghost;
+import pacman.model.maze.ResourceImageLoader;
+import pacman.simulation.InputRecorder;
 import pacman.view.background.BackgroundDrawer;
 import pacman.view.background.StandardBackgroundDrawer;
-import pacman.view.entity.EntityView;
-import pacman.view.entity.EntityViewImpl;
+import pacman.view.canvas.CanvasRenderer;
+import pacman.view.entity.EntityViewRegistry;
 import pacman.view.keyboard.KeyboardInputHandler;
 import pacman.view.observer.LivesObserver;
 import pacman.view.observer.ScoreObserver;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Window of the game. The engine is ticked by a GameLoop on its own thread, while the window
+ * renders the latest snapshot on every display pulse, interpolating between the last two ticks.
+ */
 public class GameWindow {
 
-    private static final int READY_DISPLAY_TIME = 100;  // Number of frames to display READY!
+    private static final int READY_DISPLAY_TIME = 100;  // Number of ticks to display READY!
     private Label readyLabel;
-    private int readyFrames = READY_DISPLAY_TIME;
-    private Timeline timeline;
+    private final GameLoop gameLoop;
+    private final AnimationTimer renderTimer;
+    private boolean isGameEnded;
+    private boolean isClosed;
+    private final InputRecorder inputRecorder;
+    private final Path recordingPath;
     private Label gameOverLabel;
     private final Pane pane;
     private final Scene scene;
     private final GameEngine model;
-    private final List<EntityView> entityViews;
+    private final EntityViewRegistry entityViewRegistry;
+    private final CanvasRenderer canvasRenderer;
     private HBox livesBox;
 
     private final List<ImageView> livesImages;
 
     public GameWindow(GameEngine model, int width, int height) {
+        this(model, width, height, false);
+    }
+
+    /**
+     * @param useCanvasRenderer true, if entities should be drawn by a CanvasRenderer instead of a node per entity
+     */
+    public GameWindow(GameEngine model, int width, int height, boolean useCanvasRenderer) {
+        this(model, width, height, useCanvasRenderer, GameLoop.DEFAULT_TICK_MILLIS);
+    }
+
+    /**
+     * @param useCanvasRenderer true, if entities should be drawn by a CanvasRenderer instead of a node per entity
+     * @param tickMillis length of a simulation tick in milliseconds
+     */
+    public GameWindow(GameEngine model, int width, int height, boolean useCanvasRenderer, long tickMillis) {
+        this(model, width, height, useCanvasRenderer, tickMillis, null);
+    }
+
+    /**
+     * @param useCanvasRenderer true, if entities should be drawn by a CanvasRenderer instead of a node per entity
+     * @param tickMillis length of a simulation tick in milliseconds
+     * @param recordingPath file the player's input is recorded to when the game ends, or null to not record
+     */
+    public GameWindow(GameEngine model, int width, int height, boolean useCanvasRenderer, long tickMillis,
+                      Path recordingPath) {
         this.model = model;
+        this.recordingPath = recordingPath;
+        this.inputRecorder = recordingPath != null ? new InputRecorder(model) : null;
+        this.gameLoop = new GameLoop(model, tickMillis);
+        this.renderTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                draw(now);
+            }
+        };
         this.pane = new Pane();
         this.scene = new Scene(pane, width, height);
-        this.entityViews = new ArrayList<>();
+        this.entityViewRegistry = new EntityViewRegistry(pane);
         this.livesImages = new ArrayList<>();
+        this.canvasRenderer = useCanvasRenderer ? new CanvasRenderer(width, height) : null;
 
-        // Initialize the KeyboardInputHandler with the Command pattern
-        KeyboardInputHandler keyboardInputHandler = new KeyboardInputHandler(model);
+        // Initialize the KeyboardInputHandler with the Command pattern, running commands on the loop thread
+        KeyboardInputHandler keyboardInputHandler = new KeyboardInputHandler(model, gameLoop, inputRecorder);
         scene.setOnKeyPressed(keyboardInputHandler::handlePressed);
 
         // Draw the background
         BackgroundDrawer backgroundDrawer = new StandardBackgroundDrawer();
         backgroundDrawer.draw(model, pane);
 
+        if (canvasRenderer != null) {
+            canvasRenderer.attach(pane);
+        }
+
         // Initialize labels
         initializeLabels();
 
@@ -69,92 +123,86 @@ public class GameWindow {
     }
 
     public void run() {
-        timeline = new Timeline(new KeyFrame(Duration.millis(34), t -> this.draw()));
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
-
         model.startGame();
-    }
+        renderTimer.start();
 
-    private void draw() {
-        // "READY!" label for 100 frames
-        if (readyFrames > 0) {
-            List<Renderable> entities = model.getRenderables();
-    
-            for (Renderable entity : entities) {
-                boolean notFound = true;
-                for (EntityView view : entityViews) {
-                    if (view.matchesEntity(entity)) {
-                        notFound = false;
-                        view.update();
-                        break;
-                    }
-                }
-    
-                if (notFound) {
-                    EntityView entityView = new EntityViewImpl(entity);
-                    entityViews.add(entityView);
-                    pane.getChildren().add(entityView.getNode());
-                }
+        // "READY!" label for 100 ticks before the simulation starts
+        PauseTransition readyDelay = new PauseTransition(
+                Duration.millis(READY_DISPLAY_TIME * gameLoop.getTickNanos() / 1_000_000.0));
+        readyDelay.setOnFinished(event -> {
+            pane.getChildren().remove(readyLabel);
+            if (!isGameEnded) {
+                gameLoop.start();
             }
-    
-            readyFrames--;
-    
+        });
+        readyDelay.play();
+    }
+
+    private void draw(long now) {
+        WorldSnapshot snapshot = model.acquireSnapshot();
+        if (snapshot == null || isGameEnded) {
             return;
         }
-    
-        if (readyFrames == 0) {
-            pane.getChildren().remove(readyLabel); 
-            readyFrames = -1;  
+
+        // Fraction of a tick since the snapshot was published, so movement is smooth at any refresh rate
+        double alpha = Math.min(1.0, Math.max(0.0,
+                (double) (now - snapshot.getPublishedNanos()) / gameLoop.getTickNanos()));
+        drawEntities(snapshot, alpha);
+
+        checkGameEnded(snapshot);
+    }
+
+    private void drawEntities(WorldSnapshot snapshot, double alpha) {
+        if (canvasRenderer != null) {
+            canvasRenderer.draw(snapshot, alpha);
+        } else {
+            entityViewRegistry.update(snapshot, alpha);
         }
+    }
 
-        if (model.getGameStatus().equals("YOU WIN!")) {
+    private void checkGameEnded(WorldSnapshot snapshot) {
+        if (snapshot.getGameStatus().equals("YOU WIN!")) {
+            drawEntities(snapshot, 1.0);
             showWinMessage();
-            timeline.stop();  
-            endGameAfterDelay();  
-            return;
-        }
-    
-        model.tick();
-    
-        List<Renderable> entities = model.getRenderables(); 
-        for (EntityView entityView : entityViews) {
-            entityView.markForDelete();
-        }
-    
-        for (Renderable entity : entities) {
-            boolean notFound = true;
-            for (EntityView view : entityViews) {
-                if (view.matchesEntity(entity)) {
-                    notFound = false;
-                    view.update(); 
-                    break;
-                }
-            }
-    
-            if (notFound) {
-                EntityView entityView = new EntityViewImpl(entity);
-                entityViews.add(entityView);
-                pane.getChildren().add(entityView.getNode());  
-            }
-        }
-    
-        for (EntityView entityView : entityViews) {
-            if (entityView.isMarkedForDelete()) {
-                pane.getChildren().remove(entityView.getNode());
-            }
-        }
-    
-        entityViews.removeIf(EntityView::isMarkedForDelete);  
-    
-        // Check if the game is over
-        if (model.getGameStatus().equals("GAME OVER")) {
+            stopGame();
+        } else if (snapshot.getGameStatus().equals("GAME OVER")) {
+            drawEntities(snapshot, 1.0);
             removeGhostEntities();
             showGameOver();
-            timeline.stop();  
-            endGameAfterDelay();  
+            stopGame();
+        }
+    }
+
+    private void stopGame() {
+        close();
+        endGameAfterDelay();
+    }
+
+    /**
+     * Stops the game, saving the input recording if there is one
+     */
+    public void close() {
+        if (isClosed) {
             return;
         }
+        isClosed = true;
+        isGameEnded = true;
+        gameLoop.stop();
+        renderTimer.stop();
+        saveRecording();
+    }
+
+    private void saveRecording() {
+        if (inputRecorder == null) {
+            return;
+        }
+
+        try (OutputStream outputStream = Files.newOutputStream(recordingPath)) {
+            inputRecorder.toJournal().write(outputStream);
+            System.out.println("Input recording saved to " + recordingPath);
+        } catch (IOException e) {
+            System.out.println("Failed to save input recording: " + e.getMessage());
+        }
     }
 
     private void initializeLabels() {
@@ -196,7 +244,7 @@ public class GameWindow {
     private void addPacmanLives() {
         System.out.println("addPacmanLives called.");
         for (int i = 0; i < model.getNumLives(); i++) {
-            ImageView pacmanLife = new ImageView(getClass().getResource("/maze/pacman/playerRight.png").toExternalForm()); 
+            ImageView pacmanLife = new ImageView(new ResourceImageLoader().loadImage("/maze/pacman/playerRight.png"));
             pacmanLife.setFitHeight(20); 
             pacmanLife.setFitWidth(20);
             pacmanLife.setLayoutX(20 + (i * 30)); 
@@ -206,10 +254,8 @@ public class GameWindow {
         }
     }
 
+    // The lives observer is registered with the lives box in initializeLabels
     private void registerObservers() {
-        LivesObserver livesObserver = new LivesObserver(model, livesBox);
-        model.registerObserver(livesObserver);
-
         Label scoreLabel = new Label("Score: 0");
         scoreLabel.setStyle("-fx-font-size: 20px; -fx-text-fill: white;");
         scoreLabel.setLayoutX(10); 
@@ -220,24 +266,12 @@ public class GameWindow {
     }
 
     private void removeGhostEntities() {
-        List<EntityView> ghostsToRemove = new ArrayList<>();
-        for (EntityView entityView : entityViews) {
-            Renderable entity = entityView.getEntity(); 
-            if (entity instanceof Ghost) {
-                ghostsToRemove.add(entityView); 
-            }
-        }
-
-        for (EntityView ghostView : ghostsToRemove) {
-            pane.getChildren().remove(ghostView.getNode()); 
+        if (canvasRenderer != null) {
+            canvasRenderer.removeGhosts();
+            return;
         }
 
-        entityViews.removeAll(ghostsToRemove);
-    }
-
-    public void resetReadyFrames() {
-        readyFrames = READY_DISPLAY_TIME;
-        pane.getChildren().add(readyLabel); 
+        entityViewRegistry.removeIf(entity -> entity instanceof Ghost);
     }
 
     private void endGameAfterDelay() {
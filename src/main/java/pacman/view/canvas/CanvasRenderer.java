@@ -0,0 +1,127 @@
+package pacman.view.canvas;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.ghost.Ghost;
+import pacman.model.entity.staticentity.StaticEntity;
+import pacman.model.entity.staticentity.collectable.Collectable;
+import pacman.model.level.WorldSnapshot;
+
+/**
+ * Batched renderer that draws entities onto two canvases, instead of creating a scene graph node per entity.
+ * Walls never change, so they are drawn once into a cached static layer.
+ * Only the remaining collectables and moving actors are redrawn each frame.
+ */
+public class CanvasRenderer {
+
+    private static final Renderable.Layer[] DRAWN_LAYERS = {
+            Renderable.Layer.BACKGROUND, Renderable.Layer.FOREGROUND, Renderable.Layer.EFFECT
+    };
+    private final Canvas staticLayer;
+    private final Canvas dynamicLayer;
+    private int[] dynamicIndices;
+    private int numDynamicIndices;
+    private WorldSnapshot lastSnapshot;
+    private double lastAlpha;
+
+    public CanvasRenderer(double width, double height) {
+        this.staticLayer = new Canvas(width, height);
+        this.dynamicLayer = new Canvas(width, height);
+        this.dynamicIndices = new int[0];
+        this.numDynamicIndices = 0;
+
+        // Same ordering as the entity views: behind labels, in front of the background
+        this.staticLayer.setViewOrder(3.0);
+        this.dynamicLayer.setViewOrder(2.0);
+    }
+
+    /**
+     * Adds the canvases of the renderer to the pane
+     * @param pane pane of the game window
+     */
+    public void attach(Pane pane) {
+        pane.getChildren().addAll(staticLayer, dynamicLayer);
+    }
+
+    /**
+     * Draws the renderables of the snapshot, drawing the static layer on the first call only
+     * @param snapshot latest snapshot of the model
+     * @param alpha fraction of a tick to interpolate positions by, from 0 to 1
+     */
+    public void draw(WorldSnapshot snapshot, double alpha) {
+        if (lastSnapshot == null) {
+            drawStaticLayer(snapshot);
+        }
+        this.lastSnapshot = snapshot;
+        this.lastAlpha = alpha;
+
+        drawDynamicLayer();
+    }
+
+    private void drawDynamicLayer() {
+        GraphicsContext graphics = dynamicLayer.getGraphicsContext2D();
+        graphics.clearRect(0, 0, dynamicLayer.getWidth(), dynamicLayer.getHeight());
+
+        // Order within each layer is undefined, so a pass per layer is enough to preserve z-ordering
+        for (Renderable.Layer layer : DRAWN_LAYERS) {
+            for (int i = 0; i < numDynamicIndices; i++) {
+                int index = dynamicIndices[i];
+                if (lastSnapshot.getLayer(index) == layer) {
+                    drawRenderable(graphics, lastSnapshot.getRenderable(index), lastSnapshot.getImage(index),
+                            lastSnapshot.getX(index, lastAlpha), lastSnapshot.getY(index, lastAlpha));
+                }
+            }
+        }
+    }
+
+    private void drawStaticLayer(WorldSnapshot snapshot) {
+        GraphicsContext graphics = staticLayer.getGraphicsContext2D();
+        graphics.clearRect(0, 0, staticLayer.getWidth(), staticLayer.getHeight());
+
+        dynamicIndices = new int[snapshot.size()];
+        numDynamicIndices = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            Renderable renderable = snapshot.getRenderable(i);
+            if (isStatic(renderable)) {
+                if (snapshot.getLayer(i) != Renderable.Layer.INVISIBLE) {
+                    drawRenderable(graphics, renderable, snapshot.getImage(i), snapshot.getX(i, 1), snapshot.getY(i, 1));
+                }
+            } else {
+                dynamicIndices[numDynamicIndices++] = i;
+            }
+        }
+    }
+
+    // Static entities that cannot be collected never change, so they can be cached
+    private static boolean isStatic(Renderable renderable) {
+        return renderable instanceof StaticEntity && !(renderable instanceof Collectable);
+    }
+
+    private static void drawRenderable(GraphicsContext graphics, Renderable renderable, Image image, double x, double y) {
+        if (image != null) {
+            graphics.drawImage(image, x, y, renderable.getWidth(), renderable.getHeight());
+        }
+    }
+
+    /**
+     * Stops drawing the ghosts, used when the game has been won or lost
+     */
+    public void removeGhosts() {
+        if (lastSnapshot == null) {
+            return;
+        }
+
+        int numRemaining = 0;
+        for (int i = 0; i < numDynamicIndices; i++) {
+            int index = dynamicIndices[i];
+            if (!(lastSnapshot.getRenderable(index) instanceof Ghost)) {
+                dynamicIndices[numRemaining++] = index;
+            }
+        }
+        numDynamicIndices = numRemaining;
+        drawDynamicLayer();
+    }
+}
@@ -1,6 +1,7 @@
 package pacman.view.entity;
 
 import javafx.scene.Node;
+import javafx.scene.image.Image;
 import pacman.model.entity.Renderable;
 
 /**
@@ -13,6 +14,15 @@ public interface EntityView {
      */
     void update();
 
+    /**
+     * Update rendering of Game entity from a snapshot of its state
+     * @param image image of the entity
+     * @param layer layer of the entity
+     * @param x x coordinate of the entity
+     * @param y y coordinate of the entity
+     */
+    void update(Image image, Renderable.Layer layer, double x, double y);
+
     /**
      * Checks if two entities are equals
      * @param entity entity to be checked
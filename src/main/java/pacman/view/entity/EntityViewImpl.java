@@ -1,6 +1,7 @@
 package pacman.view.entity;
 
 import javafx.scene.Node;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import pacman.model.entity.Renderable;
@@ -44,15 +45,20 @@ public class EntityViewImpl implements EntityView {
 
     @Override
     public void update() {
-        if (entity.getLayer() != Renderable.Layer.INVISIBLE) {
+        update(entity.getImage(), entity.getLayer(), entity.getPosition().getX(), entity.getPosition().getY());
+    }
+
+    @Override
+    public void update(Image image, Renderable.Layer layer, double x, double y) {
+        if (layer != Renderable.Layer.INVISIBLE) {
             node.setVisible(true);
 
-            if (!node.getImage().equals(entity.getImage())) {
-                node.setImage(entity.getImage());
+            if (!node.getImage().equals(image)) {
+                node.setImage(image);
             }
 
-            box.setLayoutX(entity.getPosition().getX());
-            box.setLayoutY(entity.getPosition().getY());
+            box.setLayoutX(x);
+            box.setLayoutY(y);
 
             node.setFitHeight(entity.getHeight());
             node.setFitWidth(entity.getWidth());
@@ -0,0 +1,96 @@
+package pacman.view.entity;
+
+import javafx.scene.layout.Pane;
+import pacman.model.entity.Renderable;
+import pacman.model.level.WorldSnapshot;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the entity views of a pane in step with snapshots of the renderables of the model.
+ * Views are keyed by renderable identity, so preparing a frame is linear in the number of renderables.
+ * Invisible renderables, such as collected pellets, have their nodes detached from the pane
+ * until they become visible again.
+ */
+public class EntityViewRegistry {
+
+    private final Pane pane;
+    private final Map<Renderable, EntityView> entityViews;
+    private final Set<Renderable> detachedEntities;
+    private List<Renderable> lastRenderables;
+    private int lastSize;
+
+    public EntityViewRegistry(Pane pane) {
+        this.pane = pane;
+        this.entityViews = new IdentityHashMap<>();
+        this.detachedEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Updates the views of the renderables, creating views for new renderables
+     * and removing the views of renderables no longer present
+     * @param snapshot latest snapshot of the model
+     * @param alpha fraction of a tick to interpolate positions by, from 0 to 1
+     */
+    public void update(WorldSnapshot snapshot, double alpha) {
+        List<Renderable> renderables = snapshot.getRenderables();
+
+        // The model normally returns the same list every frame, so only diff for removals when it changes
+        if (renderables != lastRenderables || renderables.size() != lastSize) {
+            removeStaleViews(renderables);
+            lastRenderables = renderables;
+            lastSize = renderables.size();
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            Renderable entity = snapshot.getRenderable(i);
+            Renderable.Layer layer = snapshot.getLayer(i);
+            EntityView entityView = entityViews.get(entity);
+            if (entityView == null) {
+                entityView = new EntityViewImpl(entity);
+                entityViews.put(entity, entityView);
+                pane.getChildren().add(entityView.getNode());
+            }
+            entityView.update(snapshot.getImage(i), layer, snapshot.getX(i, alpha), snapshot.getY(i, alpha));
+            updateAttachment(entity, entityView, layer);
+        }
+    }
+
+    private void updateAttachment(Renderable entity, EntityView entityView, Renderable.Layer layer) {
+        boolean isVisible = layer != Renderable.Layer.INVISIBLE;
+        if (!isVisible && detachedEntities.add(entity)) {
+            pane.getChildren().remove(entityView.getNode());
+        } else if (isVisible && detachedEntities.remove(entity)) {
+            pane.getChildren().add(entityView.getNode());
+        }
+    }
+
+    private void removeStaleViews(List<Renderable> renderables) {
+        Set<Renderable> current = Collections.newSetFromMap(new IdentityHashMap<>(renderables.size()));
+        current.addAll(renderables);
+        removeIf(entity -> !current.contains(entity));
+    }
+
+    /**
+     * Removes the views of every renderable matching the predicate
+     * @param predicate predicate of the renderables to remove
+     */
+    public void removeIf(Predicate<Renderable> predicate) {
+        Iterator<Map.Entry<Renderable, EntityView>> iterator = entityViews.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Renderable, EntityView> entry = iterator.next();
+            if (predicate.test(entry.getKey())) {
+                if (!detachedEntities.remove(entry.getKey())) {
+                    pane.getChildren().remove(entry.getValue().getNode());
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
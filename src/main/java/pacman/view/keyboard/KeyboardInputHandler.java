@@ -3,6 +3,10 @@ package pacman.view.keyboard;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import pacman.model.engine.GameEngine;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.simulation.InputRecorder;
+
+import java.util.concurrent.Executor;
 
 // Command Pattern KeyboardInputHandler
 
@@ -12,21 +16,42 @@ public class KeyboardInputHandler {
     private final Command moveDownCommand;
     private final Command moveLeftCommand;
     private final Command moveRightCommand;
+    private final Executor executor;
 
     public KeyboardInputHandler(GameEngine gameEngine) {
-        this.moveUpCommand = new MoveUpCommand(gameEngine);
-        this.moveDownCommand = new MoveDownCommand(gameEngine);
-        this.moveLeftCommand = new MoveLeftCommand(gameEngine);
-        this.moveRightCommand = new MoveRightCommand(gameEngine);
+        this(gameEngine, Runnable::run);
+    }
+
+    /**
+     * @param executor executor the commands are run on, such as the GameLoop ticking the engine
+     */
+    public KeyboardInputHandler(GameEngine gameEngine, Executor executor) {
+        this(gameEngine, executor, null);
+    }
+
+    /**
+     * @param executor executor the commands are run on, such as the GameLoop ticking the engine
+     * @param inputRecorder recorder of the executed commands, or null to not record
+     */
+    public KeyboardInputHandler(GameEngine gameEngine, Executor executor, InputRecorder inputRecorder) {
+        this.executor = executor;
+        this.moveUpCommand = record(new MoveUpCommand(gameEngine), Direction.UP, inputRecorder);
+        this.moveDownCommand = record(new MoveDownCommand(gameEngine), Direction.DOWN, inputRecorder);
+        this.moveLeftCommand = record(new MoveLeftCommand(gameEngine), Direction.LEFT, inputRecorder);
+        this.moveRightCommand = record(new MoveRightCommand(gameEngine), Direction.RIGHT, inputRecorder);
+    }
+
+    private static Command record(Command command, Direction direction, InputRecorder inputRecorder) {
+        return inputRecorder != null ? new RecordingCommand(command, direction, inputRecorder) : command;
     }
 
     public void handlePressed(KeyEvent keyEvent) {
         KeyCode keyCode = keyEvent.getCode();
         switch (keyCode) {
-            case LEFT -> moveLeftCommand.execute();
-            case RIGHT -> moveRightCommand.execute();
-            case DOWN -> moveDownCommand.execute();
-            case UP -> moveUpCommand.execute();
+            case LEFT -> executor.execute(moveLeftCommand::execute);
+            case RIGHT -> executor.execute(moveRightCommand::execute);
+            case DOWN -> executor.execute(moveDownCommand::execute);
+            case UP -> executor.execute(moveUpCommand::execute);
             default -> {}
         }
     }
@@ -0,0 +1,25 @@
+package pacman.view.keyboard;
+
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.simulation.InputRecorder;
+
+/**
+ * Decorates a move command, recording the move before executing it
+ */
+public class RecordingCommand implements Command {
+    private final Command command;
+    private final Direction direction;
+    private final InputRecorder inputRecorder;
+
+    public RecordingCommand(Command command, Direction direction, InputRecorder inputRecorder) {
+        this.command = command;
+        this.direction = direction;
+        this.inputRecorder = inputRecorder;
+    }
+
+    @Override
+    public void execute() {
+        inputRecorder.record(direction);
+        command.execute();
+    }
+}
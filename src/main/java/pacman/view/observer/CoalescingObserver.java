@@ -0,0 +1,37 @@
+package pacman.view.observer;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Observer that displays its updates on the JavaFX application thread.
+ * Notifications that arrive before the previous update has been displayed are coalesced,
+ * so at most one Platform.runLater is queued per observer however fast the engine ticks.
+ */
+public abstract class CoalescingObserver implements Observer {
+
+    private final AtomicBoolean isUpdateQueued = new AtomicBoolean(false);
+
+    @Override
+    public final void update() {
+        if (capture() && isUpdateQueued.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                // Cleared first, so a change captured while displaying queues another update
+                isUpdateQueued.set(false);
+                display();
+            });
+        }
+    }
+
+    /**
+     * Records the latest state of the model, called on the thread notifying the observer
+     * @return true, if the state changed since the last capture
+     */
+    protected abstract boolean capture();
+
+    /**
+     * Displays the latest captured state, called on the JavaFX application thread
+     */
+    protected abstract void display();
+}
@@ -1,13 +1,13 @@
 package pacman.view.observer;
 
-import javafx.application.Platform;
 import javafx.scene.control.Label;
 import pacman.model.engine.GameEngine;
 
 //Observer to display game status messages.
-public class GameStatusObserver implements Observer {
+public class GameStatusObserver extends CoalescingObserver {
     private final GameEngine gameEngine;
     private final Label statusLabel;
+    private volatile String status;
 
     public GameStatusObserver(GameEngine gameEngine, Label statusLabel) {
         this.gameEngine = gameEngine;
@@ -15,8 +15,17 @@ public class GameStatusObserver implements Observer {
     }
 
     @Override
-    public void update() {
+    protected boolean capture() {
         String status = gameEngine.getGameStatus();
-        Platform.runLater(() -> statusLabel.setText(status));
+        if (status.equals(this.status)) {
+            return false;
+        }
+        this.status = status;
+        return true;
+    }
+
+    @Override
+    protected void display() {
+        statusLabel.setText(status);
     }
 }
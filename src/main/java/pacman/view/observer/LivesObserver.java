@@ -1,32 +1,49 @@
 package pacman.view.observer;
 
-import javafx.application.Platform;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import pacman.model.engine.GameEngine;
+import pacman.model.maze.ImageLoader;
+import pacman.model.maze.ResourceImageLoader;
 
 //Observer to update the number of lives on the UI using images.
-public class LivesObserver implements Observer {
+public class LivesObserver extends CoalescingObserver {
     private final GameEngine gameEngine;
     private final HBox livesBox;
+    private final ImageLoader imageLoader;
+    private volatile int numLives = -1;
 
     public LivesObserver(GameEngine gameEngine, HBox livesBox) {
         this.gameEngine = gameEngine;
         this.livesBox = livesBox;
+        this.imageLoader = new ResourceImageLoader();
     }
 
     @Override
-    public void update() {
-        Platform.runLater(() -> {
-            livesBox.getChildren().clear();
+    protected boolean capture() {
+        int numLives = gameEngine.getNumLives();
+        if (numLives == this.numLives) {
+            return false;
+        }
+        this.numLives = numLives;
+        return true;
+    }
 
-            addLivesImages(gameEngine.getNumLives());
-        });
+    // Only the difference in icons is added or removed, rather than rebuilding the box
+    @Override
+    protected void display() {
+        int numLives = Math.max(this.numLives, 0);
+        int numIcons = livesBox.getChildren().size();
+        if (numIcons > numLives) {
+            livesBox.getChildren().remove(numLives, numIcons);
+        } else if (numIcons < numLives) {
+            addLivesImages(numLives - numIcons);
+        }
     }
 
     private void addLivesImages(int numLives) {
-        Image pacmanLifeImage = new Image(getClass().getResource("/maze/pacman/playerRight.png").toExternalForm());
+        Image pacmanLifeImage = imageLoader.loadImage("/maze/pacman/playerRight.png");
 
         for (int i = 0; i < numLives; i++) {
             ImageView pacmanLife = new ImageView(pacmanLifeImage);
@@ -1,15 +1,15 @@
 package pacman.view.observer;
 
-import javafx.application.Platform;
 import javafx.scene.control.Label;
 import pacman.model.engine.GameEngine;
 
 /**
  * Observer to update the score on the UI.
  */
-public class ScoreObserver implements Observer {
+public class ScoreObserver extends CoalescingObserver {
     private final GameEngine gameEngine;
     private final Label scoreLabel;
+    private volatile int score = -1;
 
     public ScoreObserver(GameEngine gameEngine, Label scoreLabel) {
         this.gameEngine = gameEngine;
@@ -17,9 +17,17 @@ public class ScoreObserver implements Observer {
     }
 
     @Override
-    public void update() {
+    protected boolean capture() {
         int score = gameEngine.getScore();
-        Platform.runLater(() -> scoreLabel.setText("Score: " + score));
+        if (score == this.score) {
+            return false;
+        }
+        this.score = score;
+        return true;
     }
-}
 
+    @Override
+    protected void display() {
+        scoreLabel.setText("Score: " + score);
+    }
+}